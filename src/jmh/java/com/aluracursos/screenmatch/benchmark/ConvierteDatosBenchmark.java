@@ -0,0 +1,45 @@
+package com.aluracursos.screenmatch.benchmark;
+
+import com.aluracursos.screenmatch.model.DatosTemporadas;
+import com.aluracursos.screenmatch.service.ConvierteDatos;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Deserialización de una temporada de OMDb: la forma anterior (cuerpo -> String -> ObjectMapper.readValue)
+// frente a ConvierteDatos (bytes -> ObjectReader precalculado).
+// 25 episodios es una temporada real grande; 500 exagera el tamaño para ver cómo escala.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConvierteDatosBenchmark {
+
+    @Param({"25", "500"})
+    private int episodios;
+
+    private byte[] cuerpo;
+    private final ObjectMapper mapperPorLlamada = new ObjectMapper();
+    private final ConvierteDatos conversor = new ConvierteDatos();
+
+    @Setup
+    public void preparar() {
+        cuerpo = DatosDePrueba.temporadaOmdb(episodios).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public DatosTemporadas stringYObjectMapper() throws JsonProcessingException {
+        String json = new String(cuerpo, StandardCharsets.UTF_8); // Lo que hacía BodyHandlers.ofString()
+        return mapperPorLlamada.readValue(json, DatosTemporadas.class);
+    }
+
+    @Benchmark
+    public DatosTemporadas bytesYObjectReader() {
+        return conversor.obtenerDatos(cuerpo, DatosTemporadas.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.aluracursos.screenmatch.benchmark;
+
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Serie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Datos sintéticos con la forma de las respuestas de OMDb, compartidos por los benchmarks
+final class DatosDePrueba {
+    static final String[] GENEROS_OMDB = {"Action", "Romance", "Comedy", "Drama", "Crime", "Adventure"};
+
+    private DatosDePrueba() {}
+
+    // Respuesta con la forma de https://www.omdbapi.com/?t=...&season=N
+    static String temporadaOmdb(int episodios) {
+        StringBuilder json = new StringBuilder("{\"Title\":\"Serie de prueba\",\"Season\":\"1\",\"totalSeasons\":\"10\",\"Episodes\":[");
+        for (int i = 1; i <= episodios; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"Title\":\"Episodio número ").append(i)
+                    .append("\",\"Released\":\"2015-0").append(1 + i % 9).append("-1").append(i % 10)
+                    .append("\",\"Episode\":\"").append(i)
+                    .append("\",\"imdbRating\":\"").append(5 + i % 5).append('.').append(i % 10)
+                    .append("\",\"imdbID\":\"tt").append(1_000_000 + i).append("\"}");
+        }
+        return json.append("],\"Response\":\"True\"}").toString();
+    }
+
+    // Respuesta con la forma de https://www.omdbapi.com/?t=...
+    static DatosSerie datosSerie(int i) {
+        String genero = GENEROS_OMDB[i % GENEROS_OMDB.length] + ", " + GENEROS_OMDB[(i + 3) % GENEROS_OMDB.length];
+        return new DatosSerie("Serie " + i, 1 + i % 12, (5 + i % 5) + "." + i % 10,
+                "https://m.media-amazon.com/images/M/poster" + i + ".jpg", genero,
+                "Actor " + i + ", Actriz " + (i + 1) + ", Actor " + (i + 2),
+                "Sinopsis de la serie " + i + ": una historia con varios personajes y giros inesperados.");
+    }
+
+    static List<Serie> series(int cantidad) {
+        List<Serie> series = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Serie serie = new Serie(datosSerie(i));
+            serie.setId((long) i + 1);
+            series.add(serie);
+        }
+        return series;
+    }
+}
@@ -0,0 +1,128 @@
+package com.aluracursos.screenmatch.benchmark;
+
+import com.aluracursos.screenmatch.ScreenmatchApplication;
+import com.aluracursos.screenmatch.dto.EpisodioDTO;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.service.SerieService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// /series/{id}/temporadas/{temporada} con el catálogo completo cargado.
+//
+// - entidadesConJoinFetch: la consulta anterior (entidades Episodio + JOIN FETCH de la Serie, luego map a DTO).
+// - proyeccionDto: SerieService.obtenerEpisodiosPorTemporada (proyección directa ordenada por número).
+// - indice=false elimina idx_episodios_serie_temporada_numero para ver cuánto aporta.
+//
+// Por defecto usa H2 en memoria con el esquema creado por Hibernate (las migraciones usan SQL de PostgreSQL).
+// Para medir contra PostgreSQL se pasa la URL con -Dbenchmark.url=jdbc:postgresql://... (y -Dbenchmark.usuario /
+// -Dbenchmark.clave) sobre una base vacía: el esquema lo crean las migraciones de Flyway, incluido el índice de
+// cobertura de V3 (con titulo), y Hibernate lo valida. Al terminar se limpia la base con Flyway.clean().
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EpisodiosPorTemporadaBenchmark {
+    private static final int TEMPORADAS = 10;
+    private static final int EPISODIOS_POR_TEMPORADA = 20;
+
+    @Param({"500", "2500"})
+    private int series;
+
+    @Param({"true", "false"})
+    private boolean indice;
+
+    private boolean postgres;
+    private ConfigurableApplicationContext contexto;
+    private SerieService service;
+    private EntityManagerFactory emf;
+
+    @Setup
+    public void preparar() {
+        String url = System.getProperty("benchmark.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        postgres = url.startsWith("jdbc:postgresql");
+        contexto = new SpringApplicationBuilder(ScreenmatchApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + System.getProperty("benchmark.usuario", "sa"),
+                        "--spring.datasource.password=" + System.getProperty("benchmark.clave", ""),
+                        "--spring.datasource.driver-class-name=" + (postgres ? "org.postgresql.Driver" : "org.h2.Driver"),
+                        "--spring.jpa.hibernate.ddl-auto=" + (postgres ? "validate" : "create-drop"),
+                        "--spring.flyway.enabled=" + postgres,
+                        "--spring.flyway.clean-disabled=" + !postgres,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--omdb.cache.habilitada=false",
+                        "--logging.level.root=WARN");
+        service = contexto.getBean(SerieService.class);
+        emf = contexto.getBean(EntityManagerFactory.class);
+        cargarCatalogo(contexto.getBean(JdbcTemplate.class));
+    }
+
+    private void cargarCatalogo(JdbcTemplate jdbc) {
+        List<Object[]> filasSeries = new ArrayList<>();
+        List<Object[]> filasEpisodios = new ArrayList<>();
+        long idEpisodio = 1;
+        for (long s = 1; s <= series; s++) {
+            filasSeries.add(new Object[]{s, "Serie " + s, TEMPORADAS, 8.0, "DRAMA", 8L});
+            for (int t = 1; t <= TEMPORADAS; t++) {
+                for (int e = 1; e <= EPISODIOS_POR_TEMPORADA; e++) {
+                    filasEpisodios.add(new Object[]{idEpisodio++, s, t, e, "Episodio " + t + "x" + e, 7.5});
+                }
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO series (id, titulo, total_temporadas, evaluacion, genero, generos) VALUES (?, ?, ?, ?, ?, ?)",
+                filasSeries);
+        jdbc.batchUpdate("INSERT INTO episodios (id, serie_id, temporada, numero_episodio, titulo, evaluacion) VALUES (?, ?, ?, ?, ?, ?)",
+                filasEpisodios);
+        if (!indice) {
+            jdbc.execute("DROP INDEX idx_episodios_serie_temporada_numero");
+        }
+        jdbc.execute("ANALYZE");
+    }
+
+    @TearDown
+    public void cerrar() {
+        if (postgres) {
+            contexto.getBean(Flyway.class).clean(); // La siguiente combinación de parámetros migra desde cero
+        }
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<EpisodioDTO> entidadesConJoinFetch() {
+        long id = ThreadLocalRandom.current().nextLong(1, series + 1);
+        int temporada = ThreadLocalRandom.current().nextInt(1, TEMPORADAS + 1);
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery("SELECT e FROM Episodio e JOIN FETCH e.serie s " +
+                            "WHERE s.id = :id AND e.temporada = :temporada", Episodio.class)
+                    .setParameter("id", id)
+                    .setParameter("temporada", temporada)
+                    .getResultList().stream()
+                    .map(e -> new EpisodioDTO(e.getTemporada(), e.getTitulo(), e.getNumeroEpisodio()))
+                    .toList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public List<EpisodioDTO> proyeccionDto() {
+        long id = ThreadLocalRandom.current().nextLong(1, series + 1);
+        int temporada = ThreadLocalRandom.current().nextInt(1, TEMPORADAS + 1);
+        return service.obtenerEpisodiosPorTemporada(id, temporada);
+    }
+}
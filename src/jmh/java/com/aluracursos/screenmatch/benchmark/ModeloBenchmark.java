@@ -0,0 +1,66 @@
+package com.aluracursos.screenmatch.benchmark;
+
+import com.aluracursos.screenmatch.model.CategoriaEnum;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Serie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Conversiones del modelo que se ejecutan por cada serie importada o por cada petición:
+// búsquedas en CategoriaEnum (OMDb, consola y front) y el constructor Serie(DatosSerie).
+// Cada operación recorre todas las categorías (o 64 series distintas) para no medir siempre el mismo caso.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModeloBenchmark {
+    private static final int SERIES = 64;
+
+    private final String[] omdb = DatosDePrueba.GENEROS_OMDB;
+    private final String[] consola = {"Acción", "Romance", "Comedia", "Drama", "Crimen", "Aventura"};
+    private final String[] front = {"acción", "romance", "comedia", "drama", "crimen", "aventura"};
+    private final DatosSerie[] datos = new DatosSerie[SERIES];
+
+    @Setup
+    public void preparar() {
+        for (int i = 0; i < SERIES; i++) {
+            datos[i] = DatosDePrueba.datosSerie(i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void categoriaFromString(Blackhole bh) {
+        for (String texto : omdb) {
+            bh.consume(CategoriaEnum.fromString(texto));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void categoriaFromInput(Blackhole bh) {
+        for (String texto : consola) {
+            bh.consume(CategoriaEnum.fromInput(texto));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void categoriaFromFront(Blackhole bh) {
+        for (String texto : front) {
+            bh.consume(CategoriaEnum.fromFront(texto));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SERIES)
+    public void constructorSerie(Blackhole bh) {
+        for (DatosSerie d : datos) {
+            bh.consume(new Serie(d));
+        }
+    }
+}
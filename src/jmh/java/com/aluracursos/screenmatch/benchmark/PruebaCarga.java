@@ -0,0 +1,128 @@
+package com.aluracursos.screenmatch.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Prueba de carga local de los endpoints de SerieController (rendimiento y latencia p99).
+//
+// Lanza "concurrencia" clientes que repiten peticiones durante "duracion" segundos, repartidos por igual
+// entre los endpoints. No envía If-None-Match, así que cada respuesta se genera completa.
+// Para comparar los modos se arranca la aplicación dos veces (con y sin HILOS_VIRTUALES=true, en Java 21)
+// y se ejecuta esta prueba contra cada una con una "etiqueta" distinta.
+//
+// Argumentos (clave=valor): url, concurrencia, duracion (s), calentamiento (s), etiqueta, endpoints (separados por ;)
+// El resultado se imprime y se guarda en JSON en target/carga-<etiqueta>.json.
+public class PruebaCarga {
+
+    private record Medicion(String endpoint, long peticiones, long errores, double porSegundo,
+                            double p50Ms, double p99Ms, double maximaMs) {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = new HashMap<>(Map.of(
+                "url", "http://localhost:8088",
+                "concurrencia", "400",
+                "duracion", "30",
+                "calentamiento", "10",
+                "etiqueta", "plataforma",
+                "endpoints", "/series?limit=20;/series?after=50&limit=50;/series/top5;/series/1/temporadas/todas"));
+        for (String arg : args) {
+            String[] par = arg.split("=", 2);
+            opciones.put(par[0], par[1]);
+        }
+        String url = opciones.get("url");
+        int concurrencia = Integer.parseInt(opciones.get("concurrencia"));
+        List<String> endpoints = List.of(opciones.get("endpoints").split(";"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        System.out.printf("Calentamiento de %s s...%n", opciones.get("calentamiento"));
+        ejecutar(client, url, endpoints, concurrencia, Integer.parseInt(opciones.get("calentamiento")));
+
+        System.out.printf("Carga: %d clientes durante %s s contra %s%n", concurrencia, opciones.get("duracion"), url);
+        List<Medicion> mediciones = ejecutar(client, url, endpoints, concurrencia, Integer.parseInt(opciones.get("duracion")));
+
+        StringBuilder json = new StringBuilder("{\"etiqueta\":\"").append(opciones.get("etiqueta"))
+                .append("\",\"concurrencia\":").append(concurrencia).append(",\"endpoints\":[");
+        for (int i = 0; i < mediciones.size(); i++) {
+            Medicion m = mediciones.get(i);
+            System.out.printf("%-32s %8d pet. %6d err. %9.1f pet/s  p50 %7.1f ms  p99 %7.1f ms  máx %7.1f ms%n",
+                    m.endpoint(), m.peticiones(), m.errores(), m.porSegundo(), m.p50Ms(), m.p99Ms(), m.maximaMs());
+            json.append(i == 0 ? "" : ",").append(String.format(Locale.ROOT,
+                    "{\"endpoint\":\"%s\",\"peticiones\":%d,\"errores\":%d,\"porSegundo\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maximaMs\":%.2f}",
+                    m.endpoint(), m.peticiones(), m.errores(), m.porSegundo(), m.p50Ms(), m.p99Ms(), m.maximaMs()));
+        }
+        json.append("]}");
+        Path salida = Path.of("target", "carga-" + opciones.get("etiqueta") + ".json");
+        Files.createDirectories(salida.getParent());
+        Files.writeString(salida, json, StandardCharsets.UTF_8);
+        System.out.println("Resultado guardado en " + salida);
+    }
+
+    private static List<Medicion> ejecutar(HttpClient client, String url, List<String> endpoints,
+                                           int concurrencia, int segundos) throws InterruptedException {
+        long fin = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        List<List<long[]>> latencias = new ArrayList<>(); // por cliente: {índice del endpoint, nanos, estado}
+        AtomicInteger siguiente = new AtomicInteger();
+        CountDownLatch terminados = new CountDownLatch(concurrencia);
+        for (int c = 0; c < concurrencia; c++) {
+            List<long[]> propias = new ArrayList<>();
+            latencias.add(propias);
+            Thread hilo = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < fin) {
+                        int e = Math.floorMod(siguiente.getAndIncrement(), endpoints.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(url + endpoints.get(e)))
+                                .timeout(Duration.ofSeconds(30)).GET().build();
+                        long inicio = System.nanoTime();
+                        int estado;
+                        try {
+                            estado = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException ex) {
+                            estado = -1;
+                        }
+                        propias.add(new long[]{e, System.nanoTime() - inicio, estado});
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    terminados.countDown();
+                }
+            }, "carga-" + c);
+            hilo.start();
+        }
+        terminados.await();
+
+        List<Medicion> mediciones = new ArrayList<>();
+        for (int e = 0; e < endpoints.size(); e++) {
+            int indice = e;
+            long[] nanos = latencias.stream().flatMap(List::stream)
+                    .filter(l -> l[0] == indice).mapToLong(l -> l[1]).sorted().toArray();
+            long errores = latencias.stream().flatMap(List::stream)
+                    .filter(l -> l[0] == indice && (l[2] < 200 || l[2] >= 400)).count();
+            mediciones.add(new Medicion(endpoints.get(e), nanos.length, errores, nanos.length / (double) segundos,
+                    percentil(nanos, 0.50), percentil(nanos, 0.99),
+                    nanos.length == 0 ? 0 : nanos[nanos.length - 1] / 1e6));
+        }
+        return mediciones;
+    }
+
+    private static double percentil(long[] ordenados, double p) {
+        if (ordenados.length == 0) {
+            return 0;
+        }
+        return ordenados[(int) Math.min(ordenados.length - 1, Math.ceil(p * ordenados.length) - 1)] / 1e6;
+    }
+}
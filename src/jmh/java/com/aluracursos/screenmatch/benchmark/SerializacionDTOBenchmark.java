@@ -0,0 +1,56 @@
+package com.aluracursos.screenmatch.benchmark;
+
+import com.aluracursos.screenmatch.dto.EpisodioDTO;
+import com.aluracursos.screenmatch.dto.SerieDTO;
+import com.aluracursos.screenmatch.service.SerieService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialización con Jackson de las listas de DTO que devuelven los endpoints (/series, /series/{id}/temporadas/todas).
+// Se usa un ObjectWriter por tipo, igual que hace el conversor de mensajes de Spring tras la primera petición.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionDTOBenchmark {
+
+    @Param({"20", "1000"})
+    private int elementos;
+
+    private List<SerieDTO> series;
+    private List<EpisodioDTO> episodios;
+    private ObjectWriter escritorSeries;
+    private ObjectWriter escritorEpisodios;
+
+    @Setup
+    public void preparar() {
+        series = new SerieService().convertirDatos(DatosDePrueba.series(elementos));
+        episodios = new ArrayList<>(elementos);
+        for (int i = 0; i < elementos; i++) {
+            episodios.add(new EpisodioDTO(1 + i / 20, "Episodio número " + i, 1 + i % 20));
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        TypeFactory tipos = mapper.getTypeFactory();
+        escritorSeries = mapper.writerFor(tipos.constructCollectionType(List.class, SerieDTO.class));
+        escritorEpisodios = mapper.writerFor(tipos.constructCollectionType(List.class, EpisodioDTO.class));
+    }
+
+    @Benchmark
+    public byte[] series() throws JsonProcessingException {
+        return escritorSeries.writeValueAsBytes(series);
+    }
+
+    @Benchmark
+    public byte[] episodios() throws JsonProcessingException {
+        return escritorEpisodios.writeValueAsBytes(episodios);
+    }
+}
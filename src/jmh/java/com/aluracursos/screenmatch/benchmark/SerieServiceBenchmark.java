@@ -0,0 +1,36 @@
+package com.aluracursos.screenmatch.benchmark;
+
+import com.aluracursos.screenmatch.dto.SerieDTO;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.service.SerieService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// SerieService.convertirDatos (entidades -> DTO) sobre listas del tamaño de una página y del catálogo completo.
+// convertirDatos no usa el repositorio, así que el servicio se crea sin Spring.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerieServiceBenchmark {
+
+    @Param({"100", "10000"})
+    private int series;
+
+    private List<Serie> entidades;
+    private final SerieService service = new SerieService();
+
+    @Setup
+    public void preparar() {
+        entidades = DatosDePrueba.series(series);
+    }
+
+    @Benchmark
+    public List<SerieDTO> convertirDatos() {
+        return service.convertirDatos(entidades);
+    }
+}
@@ -0,0 +1,42 @@
+package com.aluracursos.screenmatch.benchmark;
+
+import com.aluracursos.screenmatch.dto.SerieSimilarDTO;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent.TipoCambio;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.service.IndiceSimilaresService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// IndiceSimilaresService.similares sobre catálogos de 1 000 y 50 000 series.
+// El índice se llena con eventos de creación, así que el servicio se crea sin Spring ni base de datos.
+// DatosDePrueba reparte 6 géneros (~1/3 del catálogo en cada lista): la consulta no debe depender de su tamaño.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimilaresBenchmark {
+
+    @Param({"1000", "50000"})
+    private int series;
+
+    private final IndiceSimilaresService indice = new IndiceSimilaresService(null);
+    private long siguiente;
+
+    @Setup
+    public void preparar() {
+        for (Serie serie : DatosDePrueba.series(series)) {
+            indice.alCambiarCatalogo(new CambioCatalogoEvent(serie, null, TipoCambio.CREADO));
+        }
+    }
+
+    @Benchmark
+    public List<SerieSimilarDTO> similares() {
+        siguiente = siguiente % series + 1;
+        return indice.similares(siguiente, IndiceSimilaresService.LIMITE_POR_DEFECTO);
+    }
+}
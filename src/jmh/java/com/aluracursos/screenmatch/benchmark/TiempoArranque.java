@@ -0,0 +1,147 @@
+package com.aluracursos.screenmatch.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Tiempo desde que se lanza la JVM hasta la primera respuesta 200 de /series/top5.
+//
+// Arranca la aplicación "repeticiones" veces en cada modo y consulta el endpoint cada 10 ms hasta que responde:
+// - jar:     java -jar (reflexión y escaneo de clases en tiempo de ejecución)
+// - aot:     java -Dspring.aot.enabled=true -jar (definiciones de beans generadas en el build)
+// - cds:     jar de la aplicación + dependencias de target/cds con el archivo CDS screenmatch.jsa
+// - aot-cds: ambos
+// Requiere haber construido con el perfil produccion y la base de datos configurada (DB_HOST_POSTGRESQL, ...);
+// las variables de entorno se heredan.
+//
+// Argumentos (clave=valor): jar, cds (directorio), modos (separados por coma), repeticiones, puerto, endpoint,
+// limite (s), etiqueta. El resultado se imprime y se guarda en JSON en target/arranque-<etiqueta>.json;
+// la salida de cada arranque queda en target/arranque-<modo>-<n>.log.
+public class TiempoArranque {
+
+    private record Medicion(String modo, List<Double> segundos) {
+        double mediana() {
+            List<Double> ordenados = segundos.stream().sorted().toList();
+            return ordenados.get(ordenados.size() / 2);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = new HashMap<>(Map.of(
+                "jar", "target/screenmatch-0.0.1-SNAPSHOT.jar",
+                "cds", "target/cds",
+                "modos", "jar,aot,cds,aot-cds",
+                "repeticiones", "5",
+                "puerto", "8088",
+                "endpoint", "/series/top5",
+                "limite", "180",
+                "etiqueta", "produccion"));
+        for (String arg : args) {
+            String[] par = arg.split("=", 2);
+            opciones.put(par[0], par[1]);
+        }
+        int repeticiones = Integer.parseInt(opciones.get("repeticiones"));
+        URI uri = URI.create("http://localhost:" + opciones.get("puerto") + opciones.get("endpoint"));
+        Duration limite = Duration.ofSeconds(Long.parseLong(opciones.get("limite")));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+
+        List<Medicion> mediciones = new ArrayList<>();
+        for (String modo : opciones.get("modos").split(",")) {
+            List<Double> segundos = new ArrayList<>();
+            for (int i = 1; i <= repeticiones; i++) {
+                ProcessBuilder builder = comando(modo.trim(), opciones)
+                        .redirectErrorStream(true)
+                        .redirectOutput(Path.of("target", "arranque-" + modo.trim() + "-" + i + ".log").toFile());
+                double s = medir(builder, client, uri, limite);
+                System.out.printf("%-8s #%d  %6.2f s%n", modo.trim(), i, s);
+                segundos.add(s);
+            }
+            mediciones.add(new Medicion(modo.trim(), segundos));
+        }
+
+        StringBuilder json = new StringBuilder("{\"etiqueta\":\"").append(opciones.get("etiqueta"))
+                .append("\",\"endpoint\":\"").append(opciones.get("endpoint")).append("\",\"modos\":[");
+        for (int i = 0; i < mediciones.size(); i++) {
+            Medicion m = mediciones.get(i);
+            DoubleSummaryStatistics resumen = m.segundos().stream().mapToDouble(Double::doubleValue).summaryStatistics();
+            System.out.printf("%-8s mediana %6.2f s  mín %6.2f s  máx %6.2f s%n",
+                    m.modo(), m.mediana(), resumen.getMin(), resumen.getMax());
+            json.append(i == 0 ? "" : ",").append(String.format(Locale.ROOT,
+                    "{\"modo\":\"%s\",\"medianaS\":%.3f,\"minimaS\":%.3f,\"maximaS\":%.3f,\"repeticiones\":%d}",
+                    m.modo(), m.mediana(), resumen.getMin(), resumen.getMax(), m.segundos().size()));
+        }
+        json.append("]}");
+        Path salida = Path.of("target", "arranque-" + opciones.get("etiqueta") + ".json");
+        Files.writeString(salida, json, StandardCharsets.UTF_8);
+        System.out.println("Resultado guardado en " + salida);
+    }
+
+    private static ProcessBuilder comando(String modo, Map<String, String> opciones) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String puerto = "--server.port=" + opciones.get("puerto");
+        String jar = Path.of(opciones.get("jar")).toAbsolutePath().toString();
+        return switch (modo) {
+            case "jar" -> new ProcessBuilder(java, "-jar", jar, puerto);
+            case "aot" -> new ProcessBuilder(java, "-Dspring.aot.enabled=true", "-jar", jar, puerto);
+            case "cds", "aot-cds" -> {
+                // Mismo directorio y classpath que la ejecución de entrenamiento; si no coinciden la JVM ignora el archivo
+                File directorio = Path.of(opciones.get("cds")).toFile();
+                String jarCds;
+                try (Stream<Path> archivos = Files.list(directorio.toPath())) {
+                    jarCds = archivos.map(p -> p.getFileName().toString())
+                            .filter(n -> n.endsWith("-cds.jar"))
+                            .findFirst()
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "No hay jar en " + directorio + " (./mvnw -P produccion -DskipTests package)"));
+                }
+                List<String> comando = new ArrayList<>(List.of(java, "-XX:SharedArchiveFile=screenmatch.jsa"));
+                if (modo.equals("aot-cds")) {
+                    comando.add("-Dspring.aot.enabled=true");
+                }
+                comando.addAll(List.of("-cp", jarCds + File.pathSeparator + "lib/*",
+                        "com.aluracursos.screenmatch.ScreenmatchApplication", puerto));
+                yield new ProcessBuilder(comando).directory(directorio);
+            }
+            default -> throw new IllegalArgumentException("Modo no válido: " + modo + " (jar, aot, cds o aot-cds)");
+        };
+    }
+
+    // Segundos desde que se lanza el proceso hasta el primer 200; después se detiene la aplicación
+    private static double medir(ProcessBuilder builder, HttpClient client, URI uri, Duration limite) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+        long inicio = System.nanoTime();
+        Process proceso = builder.start();
+        try {
+            while (System.nanoTime() - inicio < limite.toNanos()) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó con código " + proceso.exitValue()
+                            + " (ver " + builder.redirectOutput().file() + ")");
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - inicio) / 1e9;
+                    }
+                } catch (IOException e) {
+                    // Todavía no escucha en el puerto
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Sin respuesta 200 de " + uri + " en " + limite.toSeconds() + " s");
+        } finally {
+            proceso.destroy();
+            if (!proceso.waitFor(15, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
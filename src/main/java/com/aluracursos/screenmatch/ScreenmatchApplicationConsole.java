@@ -2,6 +2,7 @@
 //
 //import com.aluracursos.screenmatch.principal.Principal;
 //import com.aluracursos.screenmatch.repository.SerieRepository;
+//import com.aluracursos.screenmatch.service.ConsumoAPI;
 //import org.springframework.beans.factory.annotation.Autowired;
 //import org.springframework.boot.CommandLineRunner;
 //import org.springframework.boot.SpringApplication;
@@ -13,13 +14,16 @@
 //    @Autowired // Indíca a Spring que se realizará una inyección de dependencias
 //    private SerieRepository repository;
 //
+//    @Autowired
+//    private ConsumoAPI consumoApi;
+//
 //    public static void main(String[] args) {
 //        SpringApplication.run(ScreenmatchApplicationConsole.class, args);
 //    }
 //
 //    @Override
 //    public void run(String... args) throws Exception {
-//        Principal principal = new Principal(repository);
+//        Principal principal = new Principal(repository, consumoApi);
 //        principal.muestraElMenu();
 //    }
 //}
@@ -0,0 +1,16 @@
+package com.aluracursos.screenmatch.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Activa la caché en memoria (Caffeine) para las lecturas más frecuentes de SerieService.
+// El tamaño máximo, el TTL y el registro de estadísticas se definen en application.properties
+// con spring.cache.caffeine.spec.
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+    public static final String TOP5 = "top5";
+    public static final String LANZAMIENTOS = "lanzamientos";
+    public static final String SERIES_POR_GENERO = "seriesPorGenero";
+    public static final String SERIE_POR_ID = "seriePorId";
+}
@@ -0,0 +1,155 @@
+package com.aluracursos.screenmatch.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+
+// DataSource que elige el pool según la transacción en curso:
+//
+// - @Transactional(readOnly = true)  -> LECTURA (réplica)
+// - cualquier otra (escrituras, Flyway, consultas sin transacción) -> ESCRITURA (primaria)
+//
+// Lectura de lo propio: la réplica puede ir atrasada. Durante "ventana" después de confirmar una
+// escritura, las lecturas DE QUIEN ESCRIBIÓ van a la primaria; las de los demás siguen en la réplica
+// (una ingesta en curso no saca de la réplica a todas las peticiones).
+//
+// - En una petición HTTP, quien escribió es el cliente: el instante de la escritura se guarda en la
+//   petición y se le envía en la cookie COOKIE_ESCRITURA (vigente "ventana"). Sus siguientes peticiones
+//   la traen de vuelta y leen de la primaria hasta que vence. Un cliente que la falsifique solo consigue
+//   leer de la primaria.
+// - Fuera de HTTP (ingesta, menú de consola, pruebas), quien escribió es el hilo.
+//
+// Debe usarse detrás de LazyConnectionDataSourceProxy: el gestor de transacciones pide la conexión al
+// empezar, antes de marcar la transacción como de solo lectura; el proxy retrasa la elección hasta la
+// primera sentencia.
+//
+// Métrica datasource.enrutamiento (destino=lectura|escritura, motivo=solo-lectura|lectura-propia|escritura)
+public class EnrutamientoDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { ESCRITURA, LECTURA }
+
+    public static final String COOKIE_ESCRITURA = "screenmatch-escritura";
+    private static final String ATRIBUTO_ESCRITURA = EnrutamientoDataSource.class.getName() + ".escritura";
+
+    // System.currentTimeMillis() del último commit del hilo (solo fuera de peticiones HTTP)
+    private static final ThreadLocal<Long> escrituraDelHilo = new ThreadLocal<>();
+
+    private final Duration ventana;
+
+    private final Counter lecturas;
+    private final Counter lecturasPropias;
+    private final Counter escrituras;
+
+    public EnrutamientoDataSource(Object escritura, Object lectura, Duration ventana, MeterRegistry registro) {
+        this.ventana = ventana;
+        setTargetDataSources(Map.of(Destino.ESCRITURA, escritura, Destino.LECTURA, lectura));
+        setDefaultTargetDataSource(escritura);
+        this.lecturas = contador(registro, Destino.LECTURA, "solo-lectura");
+        this.lecturasPropias = contador(registro, Destino.ESCRITURA, "lectura-propia");
+        this.escrituras = contador(registro, Destino.ESCRITURA, "escritura");
+    }
+
+    private static Counter contador(MeterRegistry registro, Destino destino, String motivo) {
+        return Counter.builder("datasource.enrutamiento")
+                .description("Conexiones entregadas por cada pool")
+                .tag("destino", destino.name().toLowerCase())
+                .tag("motivo", motivo)
+                .register(registro);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        registrarEscritura();
+                    }
+                });
+            }
+            escrituras.increment();
+            return Destino.ESCRITURA;
+        }
+        if (dentroDeLaVentana()) {
+            lecturasPropias.increment();
+            return Destino.ESCRITURA;
+        }
+        lecturas.increment();
+        return Destino.LECTURA;
+    }
+
+    // Cuánto puede ir atrasada la réplica según la configuración (lectura.ventana-consistencia)
+    public Duration getVentana() {
+        return ventana;
+    }
+
+    // Se llama después de cada commit de escritura, en el hilo que escribió
+    public void registrarEscritura() {
+        long ahora = System.currentTimeMillis();
+        ServletRequestAttributes peticion = peticionActual();
+        if (peticion == null) {
+            escrituraDelHilo.set(ahora);
+            return;
+        }
+        peticion.setAttribute(ATRIBUTO_ESCRITURA, ahora, RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse respuesta = peticion.getResponse();
+        if (respuesta != null && !respuesta.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_ESCRITURA, Long.toString(ahora));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (ventana.toMillis() + 999) / 1000));
+            respuesta.addCookie(cookie);
+        }
+    }
+
+    private boolean dentroDeLaVentana() {
+        Long escritura = ultimaEscritura();
+        return escritura != null && System.currentTimeMillis() - escritura < ventana.toMillis();
+    }
+
+    // Última escritura de quien hace la consulta: esta petición o la cookie que trae el cliente; fuera de HTTP, el hilo
+    private static Long ultimaEscritura() {
+        ServletRequestAttributes peticion = peticionActual();
+        if (peticion == null) {
+            return escrituraDelHilo.get();
+        }
+        if (peticion.getAttribute(ATRIBUTO_ESCRITURA, RequestAttributes.SCOPE_REQUEST) instanceof Long escritura) {
+            return escritura;
+        }
+        return leerCookie(peticion.getRequest());
+    }
+
+    private static Long leerCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_ESCRITURA.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static ServletRequestAttributes peticionActual() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes peticion ? peticion : null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.aluracursos.screenmatch.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Pools separados de escritura (spring.datasource) y lectura (lectura.datasource).
+// Solo se activa si hay réplica configurada (lectura.datasource.url); si no, Spring Boot crea
+// el DataSource único de siempre.
+//
+// - dataSourceEscritura / dataSourceLectura: un HikariDataSource cada uno, con su propio nombre de pool,
+//   así las métricas hikaricp.* salen separadas (pool=escritura | pool=lectura).
+// - dataSource (@Primary): EnrutamientoDataSource detrás de LazyConnectionDataSourceProxy; es el que usan
+//   JPA, Flyway y JdbcTemplate.
+@Configuration
+@ConditionalOnProperty(name = "lectura.datasource.url")
+public class EnrutamientoDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourceEscritura(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("escritura");
+        return dataSource;
+    }
+
+    // Usuario y contraseña son los de la primaria salvo que lectura.datasource los indique;
+    // el driver se deduce de la URL.
+    @Bean
+    @ConfigurationProperties("lectura.datasource.hikari")
+    public HikariDataSource dataSourceLectura(Environment env, DataSourceProperties propiedades) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(env.getRequiredProperty("lectura.datasource.url"))
+                .username(env.getProperty("lectura.datasource.username", propiedades.determineUsername()))
+                .password(env.getProperty("lectura.datasource.password", propiedades.determinePassword()))
+                .build();
+        dataSource.setPoolName("lectura");
+        return dataSource;
+    }
+
+    @Bean
+    public EnrutamientoDataSource enrutamientoDataSource(@Qualifier("dataSourceEscritura") DataSource escritura,
+                                                         @Qualifier("dataSourceLectura") DataSource lectura,
+                                                         @Value("${lectura.ventana-consistencia:2s}") Duration ventana,
+                                                         ObjectProvider<MeterRegistry> registro) {
+        return new EnrutamientoDataSource(escritura, lectura, ventana, registro.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(EnrutamientoDataSource enrutamiento) {
+        return new LazyConnectionDataSourceProxy(enrutamiento);
+    }
+}
@@ -0,0 +1,48 @@
+package com.aluracursos.screenmatch.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+// Hilos para los pools propios (ingesta, traducción, descarga de temporadas).
+//
+// Con spring.threads.virtual.enabled=true y Java 21 o superior, Spring Boot atiende las peticiones
+// de Tomcat en hilos virtuales y esta fábrica hace lo mismo con los pools de servicios: los hilos
+// bloqueados en JDBC o en ConsumoAPI dejan de ocupar un hilo del sistema operativo.
+// El tamaño de cada pool se conserva, así que la concurrencia hacia OMDb sigue acotada.
+// En Java 17 la propiedad no tiene efecto y se usan hilos de plataforma.
+@Component
+public class FabricaHilos {
+
+    private final boolean virtuales;
+
+    @Autowired
+    public FabricaHilos(Environment environment) {
+        this(Threading.VIRTUAL.isActive(environment));
+    }
+
+    public FabricaHilos(boolean virtuales) {
+        this.virtuales = virtuales;
+    }
+
+    // Para quien crea los servicios fuera de Spring (pruebas, menú de consola)
+    public static FabricaHilos plataforma() {
+        return new FabricaHilos(false);
+    }
+
+    public ThreadFactory crear(String prefijo) {
+        if (virtuales) {
+            return new VirtualThreadTaskExecutor(prefijo).getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory(prefijo);
+    }
+
+    public boolean usaHilosVirtuales() {
+        return virtuales;
+    }
+}
@@ -0,0 +1,30 @@
+package com.aluracursos.screenmatch.config;
+
+import com.aluracursos.screenmatch.service.IngestaCatalogoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+// Lanza la ingesta masiva al arrancar cuando se indica un archivo de títulos:
+//   mvn spring-boot:run -Dspring-boot.run.arguments=--ingesta.archivo=titulos.txt
+@Component
+@ConditionalOnProperty(name = "ingesta.archivo")
+public class IngestaCatalogoRunner implements ApplicationRunner {
+
+    private final IngestaCatalogoService service;
+    private final Path archivo;
+
+    public IngestaCatalogoRunner(IngestaCatalogoService service, @Value("${ingesta.archivo}") Path archivo) {
+        this.service = service;
+        this.archivo = archivo;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        service.ejecutar(archivo);
+    }
+}
@@ -0,0 +1,24 @@
+package com.aluracursos.screenmatch.config;
+
+import com.aluracursos.screenmatch.service.CacheRespuestasDisco;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class OmdbConfiguration {
+
+    // Caché en disco de las respuestas de OMDb; se desactiva con omdb.cache.habilitada=false
+    @Bean
+    @ConditionalOnProperty(name = "omdb.cache.habilitada", havingValue = "true", matchIfMissing = true)
+    public CacheRespuestasDisco cacheRespuestasOmdb(@Value("${omdb.cache.directorio}") Path directorio,
+                                                    @Value("${omdb.cache.tamanio-maximo:64MB}") DataSize tamanioMaximo,
+                                                    @Value("${omdb.cache.ttl:24h}") Duration ttl) {
+        return new CacheRespuestasDisco(directorio, tamanioMaximo.toBytes(), ttl);
+    }
+}
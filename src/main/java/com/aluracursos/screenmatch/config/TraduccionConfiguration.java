@@ -0,0 +1,28 @@
+package com.aluracursos.screenmatch.config;
+
+import com.aluracursos.screenmatch.service.ConsultaChatGPT;
+import com.aluracursos.screenmatch.service.ConsultaGemini;
+import com.aluracursos.screenmatch.service.ITraductor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+@Configuration
+public class TraduccionConfiguration {
+
+    // Backend de traducción según traduccion.proveedor (gemini | chatgpt).
+    // Si la propiedad no existe no se crea ningún traductor y TraduccionService devuelve los textos sin cambios.
+    @Bean
+    @ConditionalOnProperty(name = "traduccion.proveedor")
+    public ITraductor traductor(@Value("${traduccion.proveedor}") String proveedor,
+                                @Value("${traduccion.apikey}") String apiKey) {
+        return switch (proveedor.toLowerCase(Locale.ROOT)) {
+            case "gemini" -> new ConsultaGemini(apiKey);
+            case "chatgpt" -> new ConsultaChatGPT(apiKey);
+            default -> throw new IllegalArgumentException("Proveedor de traducción desconocido: " + proveedor);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.aluracursos.screenmatch.controller;
+
+import com.aluracursos.screenmatch.dto.ResultadoBusquedaDTO;
+import com.aluracursos.screenmatch.service.IndiceTitulosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/busqueda")
+public class BusquedaController {
+    @Autowired
+    private IndiceTitulosService service;
+
+    // Búsqueda por similitud de títulos: /busqueda?q=breking bad&tipo=episodio&limite=10
+    // "tipo" es opcional (serie | episodio); sin él se buscan ambos.
+    @GetMapping()
+    public List<ResultadoBusquedaDTO> buscar(@RequestParam String q,
+                                             @RequestParam(required = false) String tipo,
+                                             @RequestParam(required = false) Integer limite){
+        return service.buscar(q, tipo, limite);
+    }
+}
@@ -0,0 +1,28 @@
+package com.aluracursos.screenmatch.controller;
+
+import com.aluracursos.screenmatch.dto.EstadisticasCacheDTO;
+import com.aluracursos.screenmatch.dto.EstadisticasRegionDTO;
+import com.aluracursos.screenmatch.service.CacheCatalogoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+    @Autowired
+    private CacheCatalogoService service;
+
+    @GetMapping("/estadisticas") // Aciertos, fallos y desalojos de cada caché
+    public List<EstadisticasCacheDTO> obtenerEstadisticas(){
+        return service.obtenerEstadisticas();
+    }
+
+    @GetMapping("/estadisticas/hibernate") // Tasa de aciertos de cada región de la caché de segundo nivel
+    public List<EstadisticasRegionDTO> obtenerEstadisticasHibernate(){
+        return service.obtenerEstadisticasHibernate();
+    }
+}
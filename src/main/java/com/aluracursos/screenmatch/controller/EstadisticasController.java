@@ -0,0 +1,45 @@
+package com.aluracursos.screenmatch.controller;
+
+import com.aluracursos.screenmatch.dto.EstadisticasEvaluacionDTO;
+import com.aluracursos.screenmatch.service.EstadisticasEvaluacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Estadísticas de evaluación de los episodios. Todas se responden desde memoria
+// (EstadisticasEvaluacionService), sin consultar la base de datos.
+@RestController
+@RequestMapping("/series")
+public class EstadisticasController {
+    @Autowired
+    private EstadisticasEvaluacionService service;
+
+    @GetMapping("/{id}/estadisticas")
+    public EstadisticasEvaluacionDTO obtenerEstadisticasSerie(@PathVariable Long id){
+        return service.deSerie(id);
+    }
+
+    @GetMapping("/{id}/temporadas/estadisticas")
+    public List<EstadisticasEvaluacionDTO> obtenerEstadisticasTemporadas(@PathVariable Long id){
+        return service.deTemporadas(id);
+    }
+
+    // Temporadas de mayor a menor promedio: /series/1/temporadas/mejores?limite=3
+    @GetMapping("/{id}/temporadas/mejores")
+    public List<EstadisticasEvaluacionDTO> obtenerMejoresTemporadas(@PathVariable Long id,
+                                                                   @RequestParam(required = false) Integer limite){
+        return service.mejoresTemporadas(id, limite);
+    }
+
+    // Series con la evaluación más pareja entre episodios: /series/consistentes?limite=10&minimoEpisodios=5
+    @GetMapping("/consistentes")
+    public List<EstadisticasEvaluacionDTO> obtenerSeriesMasConsistentes(@RequestParam(required = false) Integer limite,
+                                                                       @RequestParam(required = false) Integer minimoEpisodios){
+        return service.seriesMasConsistentes(limite, minimoEpisodios);
+    }
+}
@@ -1,16 +1,37 @@
 package com.aluracursos.screenmatch.controller;
 
 import com.aluracursos.screenmatch.dto.EpisodioDTO;
+import com.aluracursos.screenmatch.dto.LoteSeriesDTO;
 import com.aluracursos.screenmatch.dto.SerieDTO;
 import com.aluracursos.screenmatch.model.CategoriaEnum;
 import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.service.ExportacionCatalogoService;
 import com.aluracursos.screenmatch.service.SerieService;
+import com.aluracursos.screenmatch.service.VersionCatalogoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 
 @RestController // Declaramos la clase como un controlador REST
@@ -20,9 +41,22 @@ public class SerieController {
     @Autowired // Inyectamos el servicio
     private SerieService service;
 
+    @Autowired
+    private VersionCatalogoService versiones;
+
+    @Autowired
+    private ExportacionCatalogoService exportacion;
+
+    @Value("${http.cache.max-age:30s}")
+    private Duration maxAge;
+
+    // GET condicional: si el cliente envía el ETag vigente en If-None-Match se responde 304 sin
+    // ejecutar la consulta. El ETag sale de VersionCatalogoService (una agregación sobre los datos,
+    // más barata que la consulta completa).
     @GetMapping("/top5")
-    public List<SerieDTO> obtenerTop5Series(){
-        return service.obtenerTop5Series();
+    public ResponseEntity<List<SerieDTO>> obtenerTop5Series(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return condicional(versiones.etagSeries(), ifNoneMatch, service::obtenerTop5Series);
     }
 
     @GetMapping("/lanzamientos")
@@ -30,9 +64,33 @@ public class SerieController {
         return service.obtenerSeriesMasRecientes();
     }
 
-    @GetMapping() // Petición GET que llama al servicio
-    public List<SerieDTO> obtenerTodasLasSeries(){
-        return service.obtenerTodasLasSeries();
+    @GetMapping() // Petición GET paginada por cursor: /series?after=<ultimoId>&limit=<n>
+    public ResponseEntity<List<SerieDTO>> obtenerTodasLasSeries(@RequestParam(required = false) Long after,
+                                                                @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return condicional(versiones.etagSeries(), ifNoneMatch, () -> service.obtenerTodasLasSeries(after, limit));
+    }
+
+    // Catálogo completo en NDJSON (una serie con sus episodios por línea). La respuesta se escribe
+    // a medida que se leen las filas, sin armar la lista completa en memoria.
+    @GetMapping(value = "/exportar", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportarCatalogo(){
+        StreamingResponseBody cuerpo = exportacion::exportar;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(cuerpo);
+    }
+
+    // Varias series en una sola petición y una sola consulta (listas de seguimiento del frontend):
+    // /series/batch?ids=3,1,7. Responde en el orden pedido e indica los ids que no existen.
+    @GetMapping("/batch")
+    public LoteSeriesDTO obtenerSeriesPorIds(@RequestParam List<Long> ids){
+        return service.seriesPorIds(ids);
+    }
+
+    @PostMapping("/batch") // Lo mismo con los ids en el cuerpo ([3, 1, 7]) para listas que no caben en la URL
+    public LoteSeriesDTO obtenerSeriesPorIdsEnCuerpo(@RequestBody List<Long> ids){
+        return service.seriesPorIds(ids);
     }
 
     @GetMapping("/{id}")
@@ -41,8 +99,12 @@ public class SerieController {
     }
 
     @GetMapping("/{id}/temporadas/todas")
-    public List<EpisodioDTO> obtenerTodosLosEpisodios(@PathVariable Long id){
-        return service.obtenerTodosLosEpisodios(id);
+    public ResponseEntity<List<EpisodioDTO>> obtenerTodosLosEpisodios(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        // Serie inexistente: 404 sin ETag (un ETag haría que el cliente revalide algo que no existe)
+        return versiones.etagSerie(id)
+                .map(etag -> condicional(etag, ifNoneMatch, () -> service.obtenerTodosLosEpisodios(id)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}/temporadas/{temporada}")
@@ -50,9 +112,43 @@ public class SerieController {
         return service.obtenerEpisodiosPorTemporada(id, temporada);
     }
 
-    @GetMapping("/categoria/{genero}")
-    public List<SerieDTO> obtenerSerieGenero(@PathVariable String genero){
-        return service.obtenerSeriePorGenero(genero); // <-- Esto
+    // Uno o varios géneros separados por comas: /series/categoria/drama,crimen?modo=todos|alguno
+    // "todos" (por defecto) exige todos los géneros; "alguno" acepta series con al menos uno.
+    @GetMapping("/categoria/{generos}")
+    public List<SerieDTO> obtenerSerieGenero(@PathVariable String generos,
+                                             @RequestParam(defaultValue = "todos") String modo){
+        if (!modo.equals("todos") && !modo.equals("alguno")) {
+            throw new IllegalArgumentException("Modo no válido: " + modo + " (use todos o alguno)");
+        }
+        return service.obtenerSeriesPorGeneros(generos, modo.equals("todos"));
+    }
+
+    // Parámetros inválidos (modo, género desconocido...) son un error del cliente: 400 con el motivo
+    // en formato RFC 9457 (application/problem+json), no un 500.
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ProblemDetail parametroInvalido(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    private <T> ResponseEntity<T> condicional(String etag, String ifNoneMatch, Supplier<T> consulta) {
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+        if (coincide(etag, ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(consulta.get());
+    }
+
+    // If-None-Match puede traer "*" o varios ETag separados por comas; para GET se compara
+    // ignorando el prefijo débil "W/" (RFC 9110, 13.1.2)
+    private static boolean coincide(String etag, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(e -> e.startsWith("W/") ? e.substring(2) : e)
+                .anyMatch(e -> e.equals("*") || e.equals(etag));
     }
 
 }
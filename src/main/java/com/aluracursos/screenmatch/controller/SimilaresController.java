@@ -0,0 +1,27 @@
+package com.aluracursos.screenmatch.controller;
+
+import com.aluracursos.screenmatch.dto.SerieSimilarDTO;
+import com.aluracursos.screenmatch.service.IndiceSimilaresService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/series")
+public class SimilaresController {
+    @Autowired
+    private IndiceSimilaresService service;
+
+    // Series con actores o géneros en común y evaluación parecida: /series/1/similares?limite=10
+    // Se responde desde el índice en memoria, sin consultar la base de datos.
+    @GetMapping("/{id}/similares")
+    public List<SerieSimilarDTO> obtenerSeriesSimilares(@PathVariable Long id,
+                                                        @RequestParam(required = false) Integer limite){
+        return service.similares(id, limite);
+    }
+}
@@ -0,0 +1,8 @@
+package com.aluracursos.screenmatch.dto;
+
+public record EstadisticasCacheDTO(String nombre,
+                                   long entradas,
+                                   long aciertos,
+                                   long fallos,
+                                   double tasaDeAciertos,
+                                   long desalojos) {}
@@ -0,0 +1,15 @@
+package com.aluracursos.screenmatch.dto;
+
+import java.util.List;
+
+// Estadísticas de las evaluaciones de los episodios de una serie (temporada = null) o de una temporada.
+// Solo cuentan los episodios con evaluación; si no hay ninguno, promedio, mínima, máxima y desviación son null.
+public record EstadisticasEvaluacionDTO(Long serieId,
+                                        String serie,
+                                        Integer temporada,
+                                        int episodios,
+                                        Double promedio,
+                                        Double minima,
+                                        Double maxima,
+                                        Double desviacion,
+                                        List<Integer> histograma) {} // Episodios por punto: [0,1), [1,2) ... [9,10]
@@ -0,0 +1,9 @@
+package com.aluracursos.screenmatch.dto;
+
+// Estadísticas de una región de la caché de segundo nivel de Hibernate (entidades, colecciones o consultas).
+// Solo se cuentan con hibernate.generate_statistics=true.
+public record EstadisticasRegionDTO(String region,
+                                    long aciertos,
+                                    long fallos,
+                                    long escrituras,
+                                    double tasaDeAciertos) {}
@@ -0,0 +1,8 @@
+package com.aluracursos.screenmatch.dto;
+
+// Lo mínimo de un episodio para las estadísticas de evaluación (ver EstadisticasEvaluacionService).
+// Se lee con SerieRepository.evaluacionesDeEpisodios sin crear entidades Episodio.
+public record EvaluacionEpisodioDTO(Long id,
+                                    Long serieId,
+                                    Integer temporada,
+                                    Double evaluacion) {}
@@ -0,0 +1,31 @@
+package com.aluracursos.screenmatch.dto;
+
+import com.aluracursos.screenmatch.model.CategoriaEnum;
+
+// Una fila de la exportación del catálogo: los datos de la serie repetidos junto a uno de sus episodios
+// (los campos del episodio son null si la serie no tiene episodios). Se lee con SerieRepository.exportarCatalogo.
+public record FilaExportacionDTO(long serieId,
+                                 String titulo,
+                                 Integer totalTemporadas,
+                                 Double evaluacion,
+                                 String poster,
+                                 CategoriaEnum genero,
+                                 Long generos,
+                                 String actores,
+                                 String sinopsis,
+                                 Integer temporada,
+                                 String tituloEpisodio,
+                                 Integer numeroEpisodio) {
+
+    public SerieDTO serie() {
+        return new SerieDTO(serieId, titulo, totalTemporadas, evaluacion, poster, genero, generos, actores, sinopsis);
+    }
+
+    public EpisodioDTO episodio() {
+        return new EpisodioDTO(temporada, tituloEpisodio, numeroEpisodio);
+    }
+
+    public boolean tieneEpisodio() {
+        return numeroEpisodio != null || tituloEpisodio != null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.aluracursos.screenmatch.dto;
+
+// Resumen de la tabla "series" para el ETag de los listados (ver VersionCatalogoService).
+// Crear o eliminar una serie cambia "series" o "ultimoId"; actualizarla cambia "sumaVersiones".
+public record FirmaCatalogoDTO(Long series,
+                               Long ultimoId,
+                               Long sumaVersiones) {}
@@ -0,0 +1,8 @@
+package com.aluracursos.screenmatch.dto;
+
+// Versión de una serie y resumen de sus episodios para el ETag de /series/{id}/temporadas/todas
+// (ver VersionCatalogoService).
+public record FirmaSerieDTO(Long version,
+                            Long episodios,
+                            Long ultimoEpisodio,
+                            Long sumaVersionesEpisodios) {}
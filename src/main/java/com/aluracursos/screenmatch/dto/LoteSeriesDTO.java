@@ -0,0 +1,9 @@
+package com.aluracursos.screenmatch.dto;
+
+import java.util.List;
+
+// Respuesta de /series/batch: las series encontradas en el orden en que se pidieron
+// y los ids que no existen en el catálogo.
+public record LoteSeriesDTO(List<SerieDTO> series,
+                            List<Long> noEncontradas) {
+}
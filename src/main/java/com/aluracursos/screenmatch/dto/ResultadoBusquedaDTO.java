@@ -0,0 +1,9 @@
+package com.aluracursos.screenmatch.dto;
+
+public record ResultadoBusquedaDTO(String tipo,          // "serie" o "episodio"
+                                   Long serieId,
+                                   String serie,
+                                   String titulo,
+                                   Integer temporada,
+                                   Integer numeroEpisodio,
+                                   double puntaje) {}
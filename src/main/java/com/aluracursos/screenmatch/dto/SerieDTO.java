@@ -1,8 +1,8 @@
 package com.aluracursos.screenmatch.dto;
 
 import com.aluracursos.screenmatch.model.CategoriaEnum;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
+
+import java.util.Set;
 
 public record SerieDTO(  long id,
                          String titulo,
@@ -10,5 +10,13 @@ public record SerieDTO(  long id,
                          Double evaluacion,
                          String poster,
                          CategoriaEnum genero,
+                         Set<CategoriaEnum> generos,
                          String actores,
-                         String sinopsis   ) {}
+                         String sinopsis   ) {
+
+    // Usado por las proyecciones JPQL, que leen la columna "generos" como máscara de bits
+    public SerieDTO(long id, String titulo, Integer totalTemporadas, Double evaluacion, String poster,
+                    CategoriaEnum genero, Long generos, String actores, String sinopsis) {
+        this(id, titulo, totalTemporadas, evaluacion, poster, genero, CategoriaEnum.deMascara(generos), actores, sinopsis);
+    }
+}
@@ -0,0 +1,6 @@
+package com.aluracursos.screenmatch.dto;
+
+import java.util.List;
+
+// Una línea del NDJSON de /series/exportar: la serie con todos sus episodios
+public record SerieExportadaDTO(SerieDTO serie, List<EpisodioDTO> episodios) {}
@@ -0,0 +1,15 @@
+package com.aluracursos.screenmatch.dto;
+
+import com.aluracursos.screenmatch.model.CategoriaEnum;
+
+import java.util.List;
+import java.util.Set;
+
+public record SerieSimilarDTO(long id,
+                              String titulo,
+                              String poster,
+                              CategoriaEnum genero,
+                              Double evaluacion,
+                              List<String> actoresEnComun,
+                              Set<CategoriaEnum> generosEnComun,
+                              double puntaje) {}           // 0 a 1, ver IndiceSimilaresService
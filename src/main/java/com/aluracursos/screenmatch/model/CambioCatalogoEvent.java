@@ -0,0 +1,20 @@
+package com.aluracursos.screenmatch.model;
+
+// Evento que se publica cada vez que se guarda o elimina una Serie o un Episodio.
+// Lo emite CatalogoListener y lo consumen los componentes que mantienen datos derivados
+// del catálogo (caché, índices, versiones...).
+//
+// - Si cambió una Serie: "serie" es la Serie y "episodio" es null.
+// - Si cambió un Episodio: "episodio" es el Episodio y "serie" es la Serie a la que pertenece.
+public record CambioCatalogoEvent(Serie serie, Episodio episodio, TipoCambio tipo) {
+
+    public enum TipoCambio { CREADO, ACTUALIZADO, ELIMINADO }
+
+    public boolean esDeEpisodio() {
+        return episodio != null;
+    }
+
+    public Long serieId() {
+        return serie == null ? null : serie.getId();
+    }
+}
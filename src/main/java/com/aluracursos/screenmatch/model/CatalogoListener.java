@@ -0,0 +1,45 @@
+package com.aluracursos.screenmatch.model;
+
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent.TipoCambio;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// Listener JPA registrado en Serie y Episodio con @EntityListeners.
+// Hibernate lo obtiene del contenedor de Spring, por eso puede recibir dependencias.
+// Traduce los callbacks de JPA en un CambioCatalogoEvent; así cualquier repository.save
+// (incluido el de Principal) avisa al resto de la aplicación sin que esta clase conozca a los interesados.
+@Component
+public class CatalogoListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public CatalogoListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    public void alCrear(Object entidad) {
+        publicar(entidad, TipoCambio.CREADO);
+    }
+
+    @PostUpdate
+    public void alActualizar(Object entidad) {
+        publicar(entidad, TipoCambio.ACTUALIZADO);
+    }
+
+    @PostRemove
+    public void alEliminar(Object entidad) {
+        publicar(entidad, TipoCambio.ELIMINADO);
+    }
+
+    private void publicar(Object entidad, TipoCambio tipo) {
+        if (entidad instanceof Serie serie) {
+            publisher.publishEvent(new CambioCatalogoEvent(serie, null, tipo));
+        } else if (entidad instanceof Episodio episodio) {
+            publisher.publishEvent(new CambioCatalogoEvent(episodio.getSerie(), episodio, tipo));
+        }
+    }
+}
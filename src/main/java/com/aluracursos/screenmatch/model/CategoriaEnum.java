@@ -1,17 +1,64 @@
 package com.aluracursos.screenmatch.model;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+
+// Géneros de OMDb. Cada constante ocupa un bit (1L << ordinal()) en la columna "generos" de Serie,
+// por eso las constantes nuevas se agregan SIEMPRE al final: reordenarlas cambiaría el significado
+// de las máscaras ya guardadas.
 public enum CategoriaEnum {
     ACCION("Action", "Acción", "acc%C3%B3n"),
     ROMANCE("Romance", "Romance", "romance"),
     COMEDIA("Comedy", "Comedia", "comedia"),
     DRAMA("Drama", "Drama", "drama"),
     CRIMEN("Crime", "Crimen", "crimen"),
-    AVENTURA("Adventure", "Aventura", "aventura");
+    AVENTURA("Adventure", "Aventura", "aventura"),
+    ANIMACION("Animation", "Animación", "animacion"),
+    BIOGRAFIA("Biography", "Biografía", "biografia"),
+    DOCUMENTAL("Documentary", "Documental", "documental"),
+    FAMILIAR("Family", "Familiar", "familiar"),
+    FANTASIA("Fantasy", "Fantasía", "fantasia"),
+    HISTORIA("History", "Historia", "historia"),
+    TERROR("Horror", "Terror", "terror"),
+    MUSICA("Music", "Música", "musica"),
+    MUSICAL("Musical", "Musical", "musical"),
+    MISTERIO("Mystery", "Misterio", "misterio"),
+    CIENCIA_FICCION("Sci-Fi", "Ciencia ficción", "ciencia-ficcion"),
+    DEPORTE("Sport", "Deporte", "deporte"),
+    SUSPENSO("Thriller", "Suspenso", "suspenso"),
+    BELICA("War", "Bélica", "belica"),
+    WESTERN("Western", "Western", "western"),
+    REALITY("Reality-TV", "Reality", "reality"),
+    TALK_SHOW("Talk-Show", "Talk show", "talk-show"),
+    CONCURSO("Game-Show", "Concurso", "concurso"),
+    NOTICIAS("News", "Noticias", "noticias"),
+    CORTOMETRAJE("Short", "Cortometraje", "cortometraje"),
+    ADULTOS("Adult", "Adultos", "adultos"),
+    CINE_NEGRO("Film-Noir", "Cine negro", "cine-negro");
 
     private String categoriaOmdb;
     private String inputUsuario;
     private String peticionDelFront;
 
+    // Tablas de búsqueda precalculadas (texto normalizado -> categoría): cada conversión es un
+    // HashMap.get en lugar de recorrer values() comparando con equalsIgnoreCase.
+    private static final Map<String, CategoriaEnum> POR_OMDB = new HashMap<>();
+    private static final Map<String, CategoriaEnum> POR_INPUT = new HashMap<>();
+    private static final Map<String, CategoriaEnum> POR_FRONT = new HashMap<>();
+
+    static {
+        for (CategoriaEnum categoria : values()) {
+            POR_OMDB.put(normalizar(categoria.categoriaOmdb), categoria);
+            POR_INPUT.put(normalizar(categoria.inputUsuario), categoria);
+            // El front puede enviar el nombre en español o el código de la URL (codificado o no)
+            POR_FRONT.put(normalizar(categoria.inputUsuario), categoria);
+            POR_FRONT.put(normalizar(categoria.peticionDelFront), categoria);
+            POR_FRONT.put(normalizar(URLDecoder.decode(categoria.peticionDelFront, StandardCharsets.UTF_8)), categoria);
+        }
+    }
+
     CategoriaEnum(String categoriaOmdb, String inputUsuario, String peticionDelFront){
         this.categoriaOmdb = categoriaOmdb;
         this.inputUsuario = inputUsuario;
@@ -20,45 +67,81 @@ public enum CategoriaEnum {
 
     // Se realiza el Cast del String del API a alguna de las categorías del Enum
     public static CategoriaEnum fromString(String text){
-        // Estamos recorriendo con "categoria" todos los valores (Constantes) del Enum
-        for (CategoriaEnum categoria : CategoriaEnum.values()){
-            // Sí categoria.categoriaOmdb es igual a text, retornara el valor (Constante)
-            // que corresponde a esa categoría.
-            if (categoria.categoriaOmdb.equalsIgnoreCase(text)){
-                return categoria;
-            }
-        }
-        //De lo contrarió lanzará una excepción:
-        throw new IllegalArgumentException("Ninguna categoria encontrada: " + text);
+        return buscar(POR_OMDB, text);
     }
 
     // Se realiza el Cast del String del input del Usuario en nuestra clase principal de las categorías del Enum
     public static CategoriaEnum fromInput(String text){
-        // Estamos recorriendo con "categoria" todos los valores (Constantes) del Enum
-        for (CategoriaEnum categoria : CategoriaEnum.values()){
-            // Sí categoria.categoriaOmdb es igual a text, retornara el valor (Constante)
-            // que corresponde a esa categoría.
-            if (categoria.inputUsuario.equalsIgnoreCase(text)){
-                return categoria;
-            }
-        }
-        //De lo contrarió lanzará una excepción:
-        throw new IllegalArgumentException("Ninguna categoria encontrada: " + text);
+        return buscar(POR_INPUT, text);
     }
 
     // Se realiza el Cast del String de la petición GET del front end de alguna de las categorías del Enum
     public static CategoriaEnum fromFront(String peticionDelFront){
-        // Estamos recorriendo con "categoria" todos los valores (Constantes) del Enum
-        for (CategoriaEnum categoria : CategoriaEnum.values()){
-            // Sí categoria.categoriaOmdb es igual a text, retornara el valor (Constante)
-            // que corresponde a esa categoría.
-            if (categoria.inputUsuario.equalsIgnoreCase(peticionDelFront)){
-                return categoria;
+        return buscar(POR_FRONT, peticionDelFront);
+    }
+
+    // Bit de esta categoría dentro de la máscara de géneros
+    public long mascara() {
+        return 1L << ordinal();
+    }
+
+    public static long mascara(Collection<CategoriaEnum> categorias) {
+        long mascara = 0;
+        for (CategoriaEnum categoria : categorias) {
+            mascara |= categoria.mascara();
+        }
+        return mascara;
+    }
+
+    public static Set<CategoriaEnum> deMascara(Long mascara) {
+        EnumSet<CategoriaEnum> categorias = EnumSet.noneOf(CategoriaEnum.class);
+        if (mascara != null) {
+            for (CategoriaEnum categoria : values()) {
+                if ((mascara & categoria.mascara()) != 0) {
+                    categorias.add(categoria);
+                }
             }
         }
-        //De lo contrarió lanzará una excepción:
-        throw new IllegalArgumentException("Ninguna categoria encontrada: " + peticionDelFront);
+        return categorias;
     }
 
+    // Convierte la lista de OMDb ("Action, Crime, Drama") conservando el orden.
+    // Los géneros que no están en el Enum se ignoran.
+    public static List<CategoriaEnum> listaDesdeOmdb(String generos) {
+        List<CategoriaEnum> categorias = new ArrayList<>();
+        if (generos == null) {
+            return categorias;
+        }
+        for (String genero : generos.split(",")) {
+            CategoriaEnum categoria = POR_OMDB.get(normalizar(genero));
+            if (categoria != null && !categorias.contains(categoria)) {
+                categorias.add(categoria);
+            }
+        }
+        return categorias;
+    }
 
+    // Convierte una lista separada por comas enviada por el front ("drama,crimen")
+    public static Set<CategoriaEnum> listaDesdeFront(String generos) {
+        EnumSet<CategoriaEnum> categorias = EnumSet.noneOf(CategoriaEnum.class);
+        for (String genero : generos.split(",")) {
+            categorias.add(fromFront(genero));
+        }
+        return categorias;
+    }
+
+    private static CategoriaEnum buscar(Map<String, CategoriaEnum> tabla, String text) {
+        CategoriaEnum categoria = text == null ? null : tabla.get(normalizar(text));
+        if (categoria == null) {
+            //Si no existe lanzará una excepción:
+            throw new IllegalArgumentException("Ninguna categoria encontrada: " + text);
+        }
+        return categoria;
+    }
+
+    // Minúsculas, sin espacios alrededor y sin tildes: "Acción " -> "accion"
+    private static String normalizar(String text) {
+        return Normalizer.normalize(text.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+    }
 }
@@ -1,23 +1,43 @@
 package com.aluracursos.screenmatch.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 @Entity
-@Table(name = "episodios")
+@Table(name = "episodios", // Los índices reales se crean con las migraciones de Flyway (db/migration)
+        indexes = @Index(name = "idx_episodios_serie_temporada_numero", columnList = "serie_id, temporada, numero_episodio, titulo"))
+@EntityListeners(CatalogoListener.class) // Avisa al resto de la aplicación cada vez que un Episodio se guarda o elimina
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Episodio.REGION_CACHE) // Caché de segundo nivel (application.conf)
 
 public class Episodio {
+    public static final String SECUENCIA = "episodios_seq";
+    public static final int TAMANIO_BLOQUE_IDS = 50;
+    public static final String REGION_CACHE = "episodios";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SECUENCIA)
+    @SequenceGenerator(name = SECUENCIA, sequenceName = SECUENCIA, allocationSize = TAMANIO_BLOQUE_IDS)
+                                         // Secuencia con asignación por bloques (optimizador "pooled"):
+                                         // Hibernate reserva 50 ids con un solo nextval y puede agrupar
+                                         // los INSERT en lotes JDBC. Con IDENTITY cada INSERT debía
+                                         // ejecutarse de inmediato para conocer su id, y no había lotes.
     private Long id;
 
     private Integer temporada;
     private String titulo;
+    @Column(name = "numero_episodio")
     private Integer numeroEpisodio;
     private Double evaluacion;
     private LocalDate fechaDeLanzamiento;
 
+    @Version // Bloqueo optimista; la suma por serie forma parte del ETag de sus episodios (VersionCatalogoService)
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @ManyToOne // Indica la relación bidireccional con Serie
                // de N:1 (foreign key)
                // identificador que hace referencia al id de otra tabla
@@ -44,6 +64,10 @@ public class Episodio {
 
     }
 
+    public Long getId() {return id;}
+
+    public Long getVersion() {return version;}
+
     public Serie getSerie() {return serie;}
 
     public void setSerie(Serie serie) {this.serie = serie;}
@@ -1,17 +1,33 @@
 package com.aluracursos.screenmatch.model;
 
 
-import com.aluracursos.screenmatch.service.ConsultaChatGPT;
-import com.aluracursos.screenmatch.service.ConsultaGemini;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.OptionalDouble;
+import java.util.Set;
 
 @Entity // Hace a la clase Serie una entidad (tabla en PostgreSQL)
-@Table(name = "series") // La entidad a diferencia de la clase se llamará "series" en la base de datos
+@Table(name = "series", // La entidad a diferencia de la clase se llamará "series" en la base de datos
+        indexes = {@Index(name = "idx_series_fecha_ultimo_lanzamiento", columnList = "fecha_ultimo_lanzamiento"),
+                   @Index(name = "idx_series_generos", columnList = "generos")})
+@EntityListeners(CatalogoListener.class) // Avisa al resto de la aplicación cada vez que una Serie se guarda o elimina
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Serie.REGION_CACHE) // Caché de segundo nivel (application.conf)
 
 public class Serie {
+    // Regiones de la caché de segundo nivel (application.conf). Sin puntos: Caffeine lee cada nombre como una ruta.
+    public static final String REGION_CACHE = "series";
+    public static final String REGION_CACHE_EPISODIOS = "series-episodios";
+    public static final String REGION_CACHE_CONSULTAS = "consultas-series";
+    public static final String ROL_EPISODIOS = "com.aluracursos.screenmatch.model.Serie.episodioList"; // Colección en la caché
+
     @Id // Es el identificador unico de la entidad dentro de la base de datos
     @GeneratedValue(strategy = GenerationType.IDENTITY) // Indíca de qué manera será creado el ID
                                                         // En este caso sera autoincremental
@@ -32,18 +48,39 @@ public class Serie {
                                  // texto en la base de datos. Esto evita problemas si cambia el orden de los
                                  // elementos del enum (lo cual sí afectaría al usar EnumType.ORDINAL).
                                  // Recomendada para mantener integridad y legibilidad en la persistencia.
-    private  CategoriaEnum genero;
+    private  CategoriaEnum genero; // Género principal (el primero que envía OMDb)
+
+    // Todos los géneros de la serie como máscara de bits (un bit por CategoriaEnum, ver CategoriaEnum.mascara()).
+    // El filtro por varios géneros busca las máscaras que cumplen la condición con un IN sobre idx_series_generos.
+    @Column(name = "generos")
+    private Long generos;
 
 
     private String actores;
     private String sinopsis;
-    @OneToMany(mappedBy = "serie", cascade = CascadeType.ALL, fetch = FetchType.EAGER) // Indica que la relación será de 1:N y
+
+    // Fecha del episodio más reciente de la serie. Se mantiene al asignar/guardar los episodios
+    // para que "lanzamientos más recientes" sea una lectura ordenada por índice y no un
+    // GROUP BY + MAX sobre todos los episodios.
+    @Column(name = "fecha_ultimo_lanzamiento")
+    private LocalDate fechaUltimoLanzamiento;
+
+    // Bloqueo optimista: Hibernate la incrementa en cada UPDATE de la serie. Con las columnas de
+    // VersionCatalogoService forma el ETag, así que cualquier proceso que escriba la fila (la ingesta,
+    // la consola, otra instancia) cambia el ETag. Los UPDATE en SQL (migraciones) deben incrementarla.
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null") // Las filas que ya existían empiezan en 0
+    private Long version;
+
+    @OneToMany(mappedBy = "serie", cascade = CascadeType.ALL, fetch = FetchType.LAZY) // Indica que la relación será de 1:N y
                                                               // mapeara la relación por el campo serie de la entidad Episodio
                                                               // Agrgandole el comportamiento de cascada rn donde realizará
                                                               // a conveniencia la operación CRUD correspondiente.
-                                                              // Dejando en claro que se podran hacer llamados para consultar datos
-                                                              // que incluso ya esten precargados en la base de datos
+                                                              // LAZY: los episodios solo se leen cuando una consulta los pide
+                                                              // (SerieService.obtenerTodosLosEpisodios) y se guardan en la
+                                                              // caché de segundo nivel.
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = REGION_CACHE_EPISODIOS) // Ids de los episodios de cada serie
     private List<Episodio> episodioList; // Relación bidireccional con la clase Episodio
                                          // 👉 “Una serie está compuesta por varios episodios”.
 
@@ -82,8 +119,15 @@ public class Serie {
         //
         // .split(",")[0].trim()
         //
-
-        this.genero = CategoriaEnum.fromString(datosSerie.genero().split(",")[0].trim());
+        // Ahora se guardan todos los géneros en la máscara "generos" y el primero que reconoce
+        // el Enum queda como género principal. Los géneros desconocidos se ignoran.
+
+        List<CategoriaEnum> categorias = CategoriaEnum.listaDesdeOmdb(datosSerie.genero());
+        if (categorias.isEmpty()) {
+            throw new IllegalArgumentException("Ninguna categoria encontrada: " + datosSerie.genero());
+        }
+        this.genero = categorias.get(0);
+        this.generos = CategoriaEnum.mascara(categorias);
         this.actores = datosSerie.actores();
         this.sinopsis = datosSerie.sinopsis();
 
@@ -96,12 +140,30 @@ public class Serie {
     public void setEpisodioList(List<Episodio> episodioList) {
         episodioList.forEach(episodio -> episodio.setSerie(this)); // actualiza la FK (lado propietario)
         this.episodioList = episodioList;                                   // sincroniza el lado inverso en memoria
+        actualizarFechaUltimoLanzamiento();
+    }
+
+    // Recalcula la fecha del último lanzamiento antes de insertar o actualizar la Serie.
+    // Si los episodios no están cargados (relación LAZY) se conserva el valor ya guardado.
+    @PrePersist
+    @PreUpdate
+    private void actualizarFechaUltimoLanzamiento() {
+        if (episodioList == null || !Hibernate.isInitialized(episodioList)) {
+            return;
+        }
+        this.fechaUltimoLanzamiento = episodioList.stream()
+                .map(Episodio::getFechaDeLanzamiento)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
     }
 
     public Long getId() {return id;}
 
     public void setId(Long id) {this.id = id;}
 
+    public Long getVersion() {return version;}
+
     public String getTitulo() {
         return titulo;
     }
@@ -140,6 +202,14 @@ public class Serie {
         this.genero = genero;
     }
 
+    public Set<CategoriaEnum> getGeneros() {return CategoriaEnum.deMascara(generos);}
+
+    public Long getMascaraGeneros() {return generos;}
+
+    public void setGeneros(Set<CategoriaEnum> generos) {
+        this.generos = CategoriaEnum.mascara(generos);
+    }
+
     public String getActores() {
         return actores;
     }
@@ -148,6 +218,12 @@ public class Serie {
         this.actores = actores;
     }
 
+    public LocalDate getFechaUltimoLanzamiento() {return fechaUltimoLanzamiento;}
+
+    public void setFechaUltimoLanzamiento(LocalDate fechaUltimoLanzamiento) {
+        this.fechaUltimoLanzamiento = fechaUltimoLanzamiento;
+    }
+
     public String getSinopsis() {
         return sinopsis;
     }
@@ -160,12 +236,13 @@ public class Serie {
     public String toString() {
         return
                 "genero=" + genero +
+                ", generos=" + getGeneros() +
                 ", titulo='" + titulo + '\'' +
                 ", totalTemporadas=" + totalTemporadas +
                 ", evaluacion=" + evaluacion +
                 ", poster='" + poster + '\'' +
                 ", actores='" + actores + '\'' +
                 ", sinopsis='" + sinopsis + '\'' +
-                ", episodios" + episodioList;
+                ", episodios" + (Hibernate.isInitialized(episodioList) ? episodioList : "[sin cargar]");
     }
 }
@@ -0,0 +1,30 @@
+package com.aluracursos.screenmatch.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Traducción ya resuelta por un modelo de IA. La llave es el SHA-256 del texto original,
+// así el mismo texto nunca se traduce dos veces (ni entre reinicios).
+@Entity
+@Table(name = "traducciones")
+public class Traduccion {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(columnDefinition = "TEXT")
+    private String traduccion;
+
+    public Traduccion(){} // Constructor vacio para evitar InstantiatioException en Hibernate
+
+    public Traduccion(String hash, String traduccion) {
+        this.hash = hash;
+        this.traduccion = traduccion;
+    }
+
+    public String getHash() {return hash;}
+
+    public String getTraduccion() {return traduccion;}
+}
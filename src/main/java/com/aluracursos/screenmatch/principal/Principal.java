@@ -4,24 +4,31 @@ import com.aluracursos.screenmatch.model.*;
 import com.aluracursos.screenmatch.repository.SerieRepository;
 import com.aluracursos.screenmatch.service.ConsumoAPI;
 import com.aluracursos.screenmatch.service.ConvierteDatos;
+import com.aluracursos.screenmatch.service.DescargaTemporadas;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class Principal {
     private Scanner teclado = new Scanner(System.in);
-    private ConsumoAPI consumoApi = new ConsumoAPI();
+    private ConsumoAPI consumoApi;
     private final String URL_BASE = "https://www.omdbapi.com/?t=";
     private final String apiKey = System.getenv("OMDB_APIKEY");
     private final String API_KEY = "&apikey=" + apiKey;
     private ConvierteDatos conversor = new ConvierteDatos();
+    private DescargaTemporadas descargaTemporadas;
     private List<DatosSerie> datosSeries = new ArrayList<>();
     private List<Serie> series = new ArrayList<>();
     private Optional<Serie> serieEncontrada;
     private SerieRepository repository;
 
-    public Principal(SerieRepository repository) {
+    // ConsumoAPI llega desde Spring para compartir el cliente HTTP y la caché de respuestas en disco
+    public Principal(SerieRepository repository, ConsumoAPI consumoApi) {
         this.repository = repository;
+        this.consumoApi = consumoApi;
+        // Número máximo de temporadas que se piden a OMDb al mismo tiempo (variable de entorno OMDB_CONCURRENCIA)
+        this.descargaTemporadas = new DescargaTemporadas(consumoApi, conversor,
+                Integer.parseInt(Optional.ofNullable(System.getenv("OMDB_CONCURRENCIA")).orElse("4")));
     }
 
     public void muestraElMenu() {
@@ -107,11 +114,17 @@ public class Principal {
                                 // consultara al API por todos los episodios de cada temporada de la Serie
                                 // realizará la deserialización y los guardara en una lista de Temporadas
             var serieEncontrada = serie.get(); //Guardo en una variable el Optional
-            for (int i = 1; i <= serieEncontrada.getTotalTemporadas(); i++) {
-                var json = consumoApi.obtenerDatos(URL_BASE + serieEncontrada.getTitulo().replace(" ", "+") + "&season=" + i + API_KEY);
-                DatosTemporadas datosTemporada = conversor.obtenerDatos(json, DatosTemporadas.class);
-                temporadas.add(datosTemporada);
+            // Las temporadas se piden en paralelo y se reciben en orden
+            var descarga = descargaTemporadas.descargar(serieEncontrada.getTotalTemporadas(),
+                    i -> URL_BASE + serieEncontrada.getTitulo().replace(" ", "+") + "&season=" + i + API_KEY);
+            if (!descarga.fallidas().isEmpty()) {
+                // Guardar solo las temporadas descargadas reemplazaría los episodios de la serie por una
+                // lista incompleta (o vacía): no se guarda nada y el usuario puede volver a intentarlo
+                System.out.println("No fue posible descargar las temporadas: " + descarga.fallidas()
+                        + ". No se guardaron cambios, intente de nuevo.");
+                return;
             }
+            temporadas.addAll(descarga.temporadas());
             temporadas.forEach(System.out::println);
             List<Episodio> episodios = temporadas.stream()
                     .flatMap(t -> t.episodios().stream()
@@ -1,18 +1,52 @@
 package com.aluracursos.screenmatch.repository;
+import com.aluracursos.screenmatch.dto.EpisodioDTO;
+import com.aluracursos.screenmatch.dto.EvaluacionEpisodioDTO;
+import com.aluracursos.screenmatch.dto.FilaExportacionDTO;
+import com.aluracursos.screenmatch.dto.FirmaCatalogoDTO;
+import com.aluracursos.screenmatch.dto.FirmaSerieDTO;
+import com.aluracursos.screenmatch.dto.SerieDTO;
 import com.aluracursos.screenmatch.model.CategoriaEnum;
 import com.aluracursos.screenmatch.model.Episodio;
 import com.aluracursos.screenmatch.model.Serie;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface SerieRepository extends JpaRepository<Serie, Long> {
     Optional<Serie> findByTituloContainsIgnoreCase(String tituloSerie); // Buscar serie por nombre
+    boolean existsByTituloIgnoreCase(String titulo); // ¿Ya está guardada una serie con este título?
+
+    // Caché de consultas de Hibernate (región Serie.REGION_CACHE_CONSULTAS): guarda los ids del resultado y las
+    // Series salen de la caché de segundo nivel. Se invalida sola cuando cambia cualquier fila de "series".
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Serie.REGION_CACHE_CONSULTAS)})
     List<Serie> findTop5ByOrderByEvaluacionDesc(); // Top 5 mejores series teniendo en cuenta su calificación
-    List<Serie> findByGenero(CategoriaEnum genero); // Buscar Series por categoria
-    Optional<Serie> findById(Long id); // Buscar Serie por id
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Serie.REGION_CACHE_CONSULTAS)})
+    List<Serie> findByGenero(CategoriaEnum genero); // Buscar Series por categoria principal (menú de consola)
+
+    Optional<Serie> findById(Long id); // Buscar Serie por id (sin episodios, la relación es LAZY). Usa la caché de segundo nivel
+
+    // Plan de carga explícito: trae la Serie y sus episodios en una sola consulta (LEFT JOIN)
+    // Solo debe usarse donde realmente se necesitan los episodios. Llena también la caché de segundo nivel.
+    @EntityGraph(attributePaths = "episodioList")
+    @Query(value = "SELECT s FROM Serie s WHERE s.id = :id")
+    Optional<Serie> buscarConEpisodiosPorId(Long id);
+
     //JPA Derived Query
 //    List<Serie> findByTotalTemporadasLessThanEqualAndEvaluacionGreaterThanEqual(Integer numeroTemporadas, Double evaluacion);
 
@@ -45,6 +79,8 @@ public interface SerieRepository extends JpaRepository<Serie, Long> {
     | **ILIKE**  | Comparación de texto insensible a mayúsculas/minúsculas; permite patrones con `%`. |
     | ---------- | ---------------------------------------------------------------------------------- |
     * */
+    // Nota: el comodín inicial impide usar índices (recorre toda la tabla). La API REST usa
+    // IndiceTitulosService (/busqueda); esta consulta solo se conserva para el menú de consola.
     @Query(value = "SELECT e FROM Serie s JOIN s.episodioList e WHERE e.titulo ILIKE %:nombreEpisodio%")
     List<Episodio> consultaEntreTablas(String nombreEpisodio);
 
@@ -67,26 +103,126 @@ public interface SerieRepository extends JpaRepository<Serie, Long> {
 
     /*
      * Tabla resumen para referencia rápida
-     * | -------------------------------------- | ------------------------------------------------------------------------------ |
-     * | Elemento                               | Descripción breve                                                              |
-     * | -------------------------------------- | ------------------------------------------------------------------------------ |
-     * | **SELECT s**                           | Devuelve objetos de tipo Serie.                                                |
-     * | **FROM Series s**                      | Define a Series (o Serie) como la entidad principal de la consulta.            |
-     * | **JOIN s.episodios e**                 | Relaciona cada Serie con su lista de Episodios para acceder a sus atributos.   |
-     * | **GROUP BY s**                         | Agrupa los resultados por Serie; necesario al usar funciones agregadas.        |
-     * | **MAX(e.fechaDeLanzamiento)**          | Obtiene la fecha más reciente entre los episodios asociados a cada Serie.       |
-     * | **ORDER BY MAX(...) DESC**             | Ordena las Series por su episodio más reciente, de más nuevo a más antiguo.     |
-     * | **LIMIT 5**                             | Devuelve únicamente las 5 Series con lanzamientos más recientes.                |
-     * | -------------------------------------- | ------------------------------------------------------------------------------ |
+     * | ------------------------------------------ | -------------------------------------------------------------------------- |
+     * | Elemento                                   | Descripción breve                                                          |
+     * | ------------------------------------------ | -------------------------------------------------------------------------- |
+     * | **SELECT s**                               | Devuelve objetos de tipo Serie.                                            |
+     * | **FROM Serie s**                           | No hace JOIN con episodios: la fecha ya está precalculada en la Serie.     |
+     * | **WHERE s.fechaUltimoLanzamiento IS NOT NULL** | Descarta series que aún no tienen episodios con fecha.                 |
+     * | **ORDER BY s.fechaUltimoLanzamiento DESC** | Recorre el índice idx_series_fecha_ultimo_lanzamiento de mayor a menor.    |
+     * | **LIMIT 5**                                | Devuelve únicamente las 5 Series con lanzamientos más recientes.           |
+     * | ------------------------------------------ | -------------------------------------------------------------------------- |
      * */
     @Query(value = "SELECT s FROM Serie s " +
-            "JOIN s.episodioList e " +
-            "GROUP BY s " +
-            "ORDER BY MAX(e.fechaDeLanzamiento) DESC LIMIT 5")
+            "WHERE s.fechaUltimoLanzamiento IS NOT NULL " +
+            "ORDER BY s.fechaUltimoLanzamiento DESC LIMIT 5")
     List<Serie> lanzamientosMasRecientes();
 
-    @Query(value = "SELECT e FROM Serie s JOIN s.episodioList e WHERE s.id = :id AND e.temporada = :temporada")
-    List<Episodio> todosLosEpisodiosPorTemporada(Long id, Integer temporada); // <-- Explic esto
+    // Todos los episodios con su Serie en una sola consulta (se usa para construir índices en memoria)
+    @Query(value = "SELECT e FROM Episodio e JOIN FETCH e.serie")
+    List<Episodio> todosLosEpisodiosConSerie();
+
+    // Id, serie, temporada y evaluación de todos los episodios (se usa para construir EstadisticasEvaluacionService)
+    @Query(value = "SELECT new com.aluracursos.screenmatch.dto.EvaluacionEpisodioDTO(e.id, e.serie.id, e.temporada, e.evaluacion) " +
+            "FROM Episodio e")
+    List<EvaluacionEpisodioDTO> evaluacionesDeEpisodios();
+
+    /*
+     * Episodios de una temporada proyectados directamente a EpisodioDTO
+     * | ----------------------------------------- | ------------------------------------------------------------------ |
+     * | Elemento                                  | Descripción breve                                                  |
+     * | ----------------------------------------- | ------------------------------------------------------------------ |
+     * | **SELECT new ...EpisodioDTO(...)**        | No se crean entidades Episodio ni se carga la Serie.               |
+     * | **e.serie.id**                            | Se compara la llave foránea serie_id, sin JOIN con series.         |
+     * | **ORDER BY e.numeroEpisodio**             | Los episodios llegan en orden.                                     |
+     * | **idx_episodios_serie_temporada_numero**  | (serie_id, temporada, numero_episodio, titulo): filtra,            |
+     * |                                           | ordena y devuelve las columnas desde el índice (migración V3).     |
+     * | ----------------------------------------- | ------------------------------------------------------------------ |
+     * */
+    @Query(value = "SELECT new com.aluracursos.screenmatch.dto.EpisodioDTO(e.temporada, e.titulo, e.numeroEpisodio) " +
+            "FROM Episodio e WHERE e.serie.id = :id AND e.temporada = :temporada ORDER BY e.numeroEpisodio")
+    List<EpisodioDTO> episodiosPorTemporada(Long id, Integer temporada);
+
+    /*
+     * Paginación por cursor (keyset) para el listado de series
+     * | ---------------------------------- | ---------------------------------------------------------------------- |
+     * | Elemento                           | Descripción breve                                                      |
+     * | ---------------------------------- | ---------------------------------------------------------------------- |
+     * | **SELECT new ...SerieDTO(...)**    | Proyección por constructor: no se crean entidades ni se leen episodios. |
+     * | **WHERE s.id > :after**            | El cursor es el último id recibido; usa el índice de la llave primaria. |
+     * | **ORDER BY s.id**                  | Orden estable para que el siguiente cursor sea el id de la última fila. |
+     * | **Pageable**                       | Solo aporta el LIMIT; siempre se pide la página 0 a partir del cursor.  |
+     * | ---------------------------------- | ---------------------------------------------------------------------- |
+     * */
+    @Query(value = "SELECT new com.aluracursos.screenmatch.dto.SerieDTO(" +
+            "s.id, s.titulo, s.totalTemporadas, s.evaluacion, s.poster, s.genero, s.generos, s.actores, s.sinopsis) " +
+            "FROM Serie s WHERE s.id > :after ORDER BY s.id")
+    List<SerieDTO> seriesDespuesDe(Long after, Pageable pageable);
+
+    /*
+     * Varias series por id en una sola consulta (/series/batch)
+     * | ---------------------------------- | ---------------------------------------------------------------------- |
+     * | Elemento                           | Descripción breve                                                      |
+     * | ---------------------------------- | ---------------------------------------------------------------------- |
+     * | **SELECT new ...SerieDTO(...)**    | Proyección por constructor: no se crean entidades ni se leen episodios. |
+     * | **WHERE s.id IN :ids**             | Búsquedas en el índice de la llave primaria; el orden de la petición   |
+     * |                                    | lo restablece SerieService.seriesPorIds.                               |
+     * | ---------------------------------- | ---------------------------------------------------------------------- |
+     * */
+    @Query(value = "SELECT new com.aluracursos.screenmatch.dto.SerieDTO(" +
+            "s.id, s.titulo, s.totalTemporadas, s.evaluacion, s.poster, s.genero, s.generos, s.actores, s.sinopsis) " +
+            "FROM Serie s WHERE s.id IN :ids")
+    List<SerieDTO> seriesPorIds(Collection<Long> ids);
+
+    /*
+     * Filtro por varios géneros sobre la máscara de bits "generos"
+     * | ---------------------------------- | ---------------------------------------------------------------------- |
+     * | Elemento                           | Descripción breve                                                      |
+     * | ---------------------------------- | ---------------------------------------------------------------------- |
+     * | **s.generos IN :mascaras**         | Las máscaras que cumplen el filtro (AND/OR) se calculan en Java a      |
+     * |                                    | partir de las combinaciones existentes (IndiceGenerosService), así la  |
+     * |                                    | consulta es una búsqueda por igualdad en idx_series_generos.           |
+     * | **ORDER BY s.id**                  | Orden estable entre peticiones.                                        |
+     * | ---------------------------------- | ---------------------------------------------------------------------- |
+     * */
+    @Query(value = "SELECT new com.aluracursos.screenmatch.dto.SerieDTO(" +
+            "s.id, s.titulo, s.totalTemporadas, s.evaluacion, s.poster, s.genero, s.generos, s.actores, s.sinopsis) " +
+            "FROM Serie s WHERE s.generos IN :mascaras ORDER BY s.id")
+    List<SerieDTO> seriesConMascaraDeGeneros(Collection<Long> mascaras);
+
+    /*
+     * Exportación del catálogo completo como Stream (ver ExportacionCatalogoService)
+     * | ---------------------------------------- | ----------------------------------------------------------------- |
+     * | Elemento                                 | Descripción breve                                                 |
+     * | ---------------------------------------- | ----------------------------------------------------------------- |
+     * | **SELECT new ...FilaExportacionDTO**     | Proyección: las filas no quedan en el contexto de persistencia.   |
+     * | **LEFT JOIN s.episodioList e**           | Incluye las series sin episodios (campos de episodio en null).    |
+     * | **ORDER BY s.id, e.temporada, ...**      | Las filas de cada serie llegan juntas y en orden.                 |
+     * | **HINT_FETCH_SIZE**                      | El driver trae las filas de 500 en 500 (cursor de solo avance).   |
+     * | ---------------------------------------- | ----------------------------------------------------------------- |
+     * Debe consumirse dentro de una transacción y cerrarse (try-with-resources).
+     * */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(value = "SELECT new com.aluracursos.screenmatch.dto.FilaExportacionDTO(" +
+            "s.id, s.titulo, s.totalTemporadas, s.evaluacion, s.poster, s.genero, s.generos, s.actores, s.sinopsis, " +
+            "e.temporada, e.titulo, e.numeroEpisodio) " +
+            "FROM Serie s LEFT JOIN s.episodioList e ORDER BY s.id, e.temporada, e.numeroEpisodio")
+    Stream<FilaExportacionDTO> exportarCatalogo();
+
+    // Combinaciones de géneros que existen en el catálogo (pocas: cada serie tiene 1 a 3 géneros)
+    @Query(value = "SELECT DISTINCT s.generos FROM Serie s WHERE s.generos IS NOT NULL")
+    List<Long> combinacionesDeGeneros();
+
+    // ETag de los listados (VersionCatalogoService): se lee siempre de la base de datos, nunca de una caché
+    @Query(value = "SELECT new com.aluracursos.screenmatch.dto.FirmaCatalogoDTO(" +
+            "COUNT(s), COALESCE(MAX(s.id), 0L), COALESCE(SUM(s.version), 0L)) FROM Serie s")
+    FirmaCatalogoDTO firmaCatalogo();
+
+    // ETag de los episodios de una serie; vacío si la serie no existe
+    @Query(value = "SELECT new com.aluracursos.screenmatch.dto.FirmaSerieDTO(" +
+            "s.version, COUNT(e), COALESCE(MAX(e.id), 0L), COALESCE(SUM(e.version), 0L)) " +
+            "FROM Serie s LEFT JOIN s.episodioList e WHERE s.id = :id GROUP BY s.id, s.version")
+    Optional<FirmaSerieDTO> firmaSerie(Long id);
 
 
 
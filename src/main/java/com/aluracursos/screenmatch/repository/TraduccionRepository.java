@@ -0,0 +1,7 @@
+package com.aluracursos.screenmatch.repository;
+
+import com.aluracursos.screenmatch.model.Traduccion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TraduccionRepository extends JpaRepository<Traduccion, String> {
+}
@@ -0,0 +1,163 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.config.CacheConfiguration;
+import com.aluracursos.screenmatch.config.EnrutamientoDataSource;
+import com.aluracursos.screenmatch.dto.EstadisticasCacheDTO;
+import com.aluracursos.screenmatch.dto.EstadisticasRegionDTO;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Administra la caché de lecturas del catálogo:
+// - Invalida solo las entradas afectadas por un cambio en el catálogo. Se ejecuta después del
+//   commit (o de inmediato si no hay transacción) para que una lectura concurrente no vuelva a
+//   cachear datos que todavía no se confirmaron.
+// - Con réplica de lectura (EnrutamientoDataSource), la primera lectura después del desalojo puede ir
+//   a la réplica atrasada y dejar en la caché los datos anteriores durante todo su TTL. Por eso el
+//   desalojo se repite al vencer lectura.ventana-consistencia, cuando la réplica ya debe tener el cambio.
+//   La repetición incluye lo que Hibernate llena en cada lectura: la caché de consultas, la lista de
+//   episodios de la serie y las entidades cambiadas.
+// - Expone los contadores de aciertos/fallos de cada caché y de cada región de la caché de segundo
+//   nivel de Hibernate (esta última se invalida sola: Hibernate conoce cada escritura).
+@Service
+public class CacheCatalogoService {
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Duration ventana; // null sin réplica de lectura
+    private final ScheduledExecutorService repeticiones;
+
+    public CacheCatalogoService(CacheManager cacheManager, EntityManagerFactory entityManagerFactory,
+                                ObjectProvider<EnrutamientoDataSource> enrutamiento) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        EnrutamientoDataSource conReplica = enrutamiento.getIfAvailable();
+        this.ventana = conReplica == null ? null : conReplica.getVentana();
+        if (ventana == null) {
+            this.repeticiones = null;
+        } else {
+            CustomizableThreadFactory hilos = new CustomizableThreadFactory("desalojo-cache-");
+            hilos.setDaemon(true);
+            this.repeticiones = Executors.newSingleThreadScheduledExecutor(hilos);
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        if (repeticiones != null) {
+            repeticiones.shutdownNow();
+        }
+    }
+
+    public List<EstadisticasCacheDTO> obtenerEstadisticas() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(c -> {
+                    var stats = c.getNativeCache().stats();
+                    return new EstadisticasCacheDTO(c.getName(),
+                            c.getNativeCache().estimatedSize(),
+                            stats.hitCount(),
+                            stats.missCount(),
+                            stats.hitRate(),
+                            stats.evictionCount());
+                })
+                .toList();
+    }
+
+    public List<EstadisticasRegionDTO> obtenerEstadisticasHibernate() {
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(estadisticas.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics r = estadisticas.getCacheRegionStatistics(region);
+                    if (r == null) {
+                        return null;
+                    }
+                    long consultas = r.getHitCount() + r.getMissCount();
+                    return new EstadisticasRegionDTO(region,
+                            r.getHitCount(),
+                            r.getMissCount(),
+                            r.getPutCount(),
+                            consultas == 0 ? 0 : (double) r.getHitCount() / consultas);
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCatalogo(CambioCatalogoEvent evento) {
+        Long serieId = evento.serieId();
+        boolean esDeEpisodio = evento.esDeEpisodio();
+        Long episodioId = esDeEpisodio ? evento.episodio().getId() : null;
+        desalojar(serieId, esDeEpisodio);
+        if (repeticiones != null) {
+            repeticiones.schedule(() -> {
+                desalojar(serieId, esDeEpisodio);
+                desalojarHibernate(serieId, episodioId);
+            }, ventana.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Al confirmar, Hibernate ya invalidó sus regiones; esto descarta lo que se volvió a leer de la réplica
+    private void desalojarHibernate(Long serieId, Long episodioId) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictQueryRegion(Serie.REGION_CACHE_CONSULTAS);
+        if (serieId != null) {
+            cache.evictEntityData(Serie.class, serieId);
+            cache.evictCollectionData(Serie.ROL_EPISODIOS, serieId);
+        }
+        if (episodioId != null) {
+            cache.evictEntityData(Episodio.class, episodioId);
+        }
+    }
+
+    private void desalojar(Long serieId, boolean esDeEpisodio) {
+        // Los episodios solo influyen en los lanzamientos más recientes
+        limpiar(CacheConfiguration.LANZAMIENTOS);
+        if (esDeEpisodio) {
+            return;
+        }
+
+        limpiar(CacheConfiguration.TOP5);
+        desalojar(CacheConfiguration.SERIE_POR_ID, serieId);
+        // Las llaves son combinaciones de géneros (AND/OR): una serie puede afectar a muchas,
+        // así que se limpia la caché completa de géneros
+        limpiar(CacheConfiguration.SERIES_POR_GENERO);
+    }
+
+    private void limpiar(String nombre) {
+        Cache cache = cacheManager.getCache(nombre);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void desalojar(String nombre, Object llave) {
+        Cache cache = cacheManager.getCache(nombre);
+        if (cache != null && llave != null) {
+            cache.evict(llave);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.aluracursos.screenmatch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Caché persistente en disco de respuestas HTTP (OMDb).
+//
+// - Llave: URL normalizada sin la apikey (parámetros ordenados, nombres en minúsculas), así la misma
+//   búsqueda con otra llave o en otro orden reutiliza la entrada. Los valores se conservan tal cual:
+//   "t=It" y "t=it" pueden ser búsquedas distintas.
+// - Cada entrada es un archivo "<sha256>.gz": 8 bytes con la fecha de expiración (epoch ms)
+//   seguidos del cuerpo comprimido con GZIP. Se escribe en un temporal y se mueve de forma atómica.
+// - TTL por entrada y desalojo LRU cuando el total en disco supera "tamanioMaximo".
+// - Al crear la caché se reconstruye el índice leyendo los archivos existentes, por lo que
+//   sobrevive a reinicios. El orden LRU inicial se toma de la fecha de modificación de cada archivo.
+// - El acceso se serializa con un ReentrantLock y no con synchronized: la lectura/escritura de archivos
+//   dentro de un bloque synchronized fijaría el hilo virtual a su hilo portador (Java 21).
+public class CacheRespuestasDisco {
+    private static final Logger log = LoggerFactory.getLogger(CacheRespuestasDisco.class);
+    private static final String EXTENSION = ".gz";
+
+    private record Entrada(Path archivo, long bytes, long expiraEnMs) {}
+
+    private final Path directorio;
+    private final long tamanioMaximo;
+    private final Duration ttlPorDefecto;
+    private final LinkedHashMap<String, Entrada> indice = new LinkedHashMap<>(16, 0.75f, true); // orden de acceso
+    private long tamanioActual;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public CacheRespuestasDisco(Path directorio, long tamanioMaximo, Duration ttlPorDefecto) {
+        this.directorio = directorio;
+        this.tamanioMaximo = tamanioMaximo;
+        this.ttlPorDefecto = ttlPorDefecto;
+        cargarIndice();
+    }
+
+    public Optional<byte[]> obtener(String url) {
+        lock.lock();
+        try {
+            return leer(llave(url));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<byte[]> leer(String llave) {
+        Entrada entrada = indice.get(llave);
+        if (entrada == null) {
+            return Optional.empty();
+        }
+        if (entrada.expiraEnMs() < System.currentTimeMillis()) {
+            eliminar(llave);
+            return Optional.empty();
+        }
+        try (InputStream archivo = new BufferedInputStream(Files.newInputStream(entrada.archivo()))) {
+            new DataInputStream(archivo).readLong(); // expiración, ya conocida por el índice
+            byte[] datos;
+            try (GZIPInputStream gzip = new GZIPInputStream(archivo)) {
+                datos = gzip.readAllBytes();
+            }
+            Files.setLastModifiedTime(entrada.archivo(), FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(datos);
+        } catch (IOException e) {
+            log.warn("Entrada de caché ilegible, se descarta: {}", entrada.archivo(), e);
+            eliminar(llave);
+            return Optional.empty();
+        }
+    }
+
+    public void guardar(String url, byte[] datos) {
+        guardar(url, datos, ttlPorDefecto);
+    }
+
+    public void guardar(String url, byte[] datos, Duration ttl) {
+        lock.lock();
+        try {
+            escribir(llave(url), datos, ttl);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void escribir(String llave, byte[] datos, Duration ttl) {
+        Path archivo = directorio.resolve(llave + EXTENSION);
+        long expira = System.currentTimeMillis() + ttl.toMillis();
+        try {
+            Path temporal = Files.createTempFile(directorio, llave, ".tmp");
+            try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(temporal))) {
+                new DataOutputStream(salida).writeLong(expira);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+                    gzip.write(datos);
+                }
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Entrada anterior = indice.put(llave, new Entrada(archivo, Files.size(archivo), expira));
+            tamanioActual += indice.get(llave).bytes() - (anterior == null ? 0 : anterior.bytes());
+            desalojar();
+        } catch (IOException e) {
+            // La caché es una optimización: si no se puede escribir, la petición sigue funcionando
+            log.warn("No fue posible guardar la respuesta en la caché de disco", e);
+        }
+    }
+
+    public int entradas() {
+        lock.lock();
+        try {
+            return indice.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long tamanioEnBytes() {
+        lock.lock();
+        try {
+            return tamanioActual;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Elimina las entradas menos usadas recientemente hasta quedar dentro del tamaño máximo
+    private void desalojar() {
+        Iterator<Map.Entry<String, Entrada>> it = indice.entrySet().iterator();
+        while (tamanioActual > tamanioMaximo && it.hasNext()) {
+            Entrada menosUsada = it.next().getValue();
+            it.remove();
+            tamanioActual -= menosUsada.bytes();
+            borrarArchivo(menosUsada.archivo());
+        }
+    }
+
+    private void eliminar(String llave) {
+        Entrada entrada = indice.remove(llave);
+        if (entrada != null) {
+            tamanioActual -= entrada.bytes();
+            borrarArchivo(entrada.archivo());
+        }
+    }
+
+    private void cargarIndice() {
+        try {
+            Files.createDirectories(directorio);
+            record Encontrada(String llave, Entrada entrada, long modificado) {}
+            List<Encontrada> encontradas = new ArrayList<>();
+            long ahora = System.currentTimeMillis();
+            try (Stream<Path> archivos = Files.list(directorio)) {
+                for (Path archivo : (Iterable<Path>) archivos::iterator) {
+                    String nombre = archivo.getFileName().toString();
+                    if (!nombre.endsWith(EXTENSION)) {
+                        if (nombre.endsWith(".tmp")) {
+                            borrarArchivo(archivo); // Restos de una escritura interrumpida
+                        }
+                        continue;
+                    }
+                    long expira;
+                    try (DataInputStream entrada = new DataInputStream(Files.newInputStream(archivo))) {
+                        expira = entrada.readLong();
+                    } catch (IOException e) {
+                        borrarArchivo(archivo);
+                        continue;
+                    }
+                    if (expira < ahora) {
+                        borrarArchivo(archivo);
+                        continue;
+                    }
+                    String llave = nombre.substring(0, nombre.length() - EXTENSION.length());
+                    encontradas.add(new Encontrada(llave, new Entrada(archivo, Files.size(archivo), expira),
+                            Files.getLastModifiedTime(archivo).toMillis()));
+                }
+            }
+            // Se insertan de la más antigua a la más reciente para reconstruir el orden LRU
+            encontradas.sort(Comparator.comparingLong(Encontrada::modificado));
+            for (Encontrada e : encontradas) {
+                indice.put(e.llave(), e.entrada());
+                tamanioActual += e.entrada().bytes();
+            }
+            desalojar();
+            log.info("Caché de respuestas en {}: {} entradas, {} bytes", directorio, indice.size(), tamanioActual);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No fue posible abrir la caché de respuestas en " + directorio, e);
+        }
+    }
+
+    private void borrarArchivo(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("No fue posible borrar {}", archivo, e);
+        }
+    }
+
+    // Llave de la caché: SHA-256 de la URL normalizada
+    static String llave(String url) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(normalizar(url).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Quita la apikey, ordena los parámetros y pasa a minúsculas el esquema, el host y los nombres de los parámetros
+    static String normalizar(String url) {
+        URI uri = URI.create(url);
+        String consulta = uri.getRawQuery() == null ? "" : uri.getRawQuery();
+        String parametros = Arrays.stream(consulta.split("&"))
+                .filter(p -> !p.isEmpty())
+                .map(CacheRespuestasDisco::nombreEnMinusculas)
+                .filter(p -> !p.startsWith("apikey=") && !p.equals("apikey"))
+                .sorted()
+                .reduce((a, b) -> a + "&" + b)
+                .orElse("");
+        String base = (uri.getScheme() + "://" + uri.getRawAuthority()).toLowerCase(Locale.ROOT)
+                + (uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath());
+        return parametros.isEmpty() ? base : base + "?" + parametros;
+    }
+
+    private static String nombreEnMinusculas(String parametro) {
+        int igual = parametro.indexOf('=');
+        return igual < 0
+                ? parametro.toLowerCase(Locale.ROOT)
+                : parametro.substring(0, igual).toLowerCase(Locale.ROOT) + parametro.substring(igual);
+    }
+}
@@ -3,19 +3,59 @@ package com.aluracursos.screenmatch.service;
 import com.theokanning.openai.completion.CompletionRequest;
 import com.theokanning.openai.service.OpenAiService;
 
-public class ConsultaChatGPT {
-    public static String obtenerTraduccion(String texto) {
-        OpenAiService service = new OpenAiService("TU_API_KEY");
-
-        CompletionRequest requisicion = CompletionRequest.builder()
-                .model("gpt-3.5-turbo-instruct")
-                .prompt("traduce a español el siguiente texto: " + texto)
-                .maxTokens(1000)
-                .temperature(0.7)
-                .build();
-
-        var respuesta = service.createCompletion(requisicion);
-        return respuesta.getChoices().get(0).getText();
+import java.util.ArrayList;
+import java.util.List;
+
+// Traductor con OpenAI. El OpenAiService se crea una sola vez y se reutiliza en cada llamada.
+//
+// gpt-3.5-turbo-instruct admite CONTEXTO_MODELO tokens entre prompt y respuesta, y la traducción ocupa
+// más o menos lo mismo que los textos originales. Por eso cada lote se divide hasta que su prompt ocupe
+// como mucho la mitad del contexto, y max_tokens es lo que queda libre después del prompt.
+public class ConsultaChatGPT implements ITraductor {
+    static final int CONTEXTO_MODELO = 4096;
+    private static final int CARACTERES_POR_TOKEN = 3; // Estimación conservadora (el inglés ronda 4)
+
+    private final OpenAiService service;
+
+    public ConsultaChatGPT(String apiKey) {
+        this.service = new OpenAiService(apiKey);
+    }
+
+    @Override
+    public List<String> traducir(List<String> textos) {
+        List<String> traducciones = new ArrayList<>(textos.size());
+        for (List<String> lote : dividirLote(textos)) {
+            String prompt = ITraductor.promptLote(lote);
+            CompletionRequest requisicion = CompletionRequest.builder()
+                    .model("gpt-3.5-turbo-instruct")
+                    .prompt(prompt)
+                    .maxTokens(maximoTokens(prompt))
+                    .temperature(0.7)
+                    .build();
+
+            var respuesta = service.createCompletion(requisicion);
+            traducciones.addAll(ITraductor.separarLote(respuesta.getChoices().get(0).getText(), lote.size()));
+        }
+        return traducciones;
     }
-}
 
+    // Parte el lote por la mitad hasta que cada prompt deje al menos la mitad del contexto para la respuesta.
+    // Un texto solo que no cabe se envía igual: OpenAI lo rechaza y TraduccionService conserva el original.
+    static List<List<String>> dividirLote(List<String> textos) {
+        if (textos.size() <= 1 || 2 * estimarTokens(ITraductor.promptLote(textos)) <= CONTEXTO_MODELO) {
+            return List.of(textos);
+        }
+        int mitad = textos.size() / 2;
+        List<List<String>> lotes = new ArrayList<>(dividirLote(textos.subList(0, mitad)));
+        lotes.addAll(dividirLote(textos.subList(mitad, textos.size())));
+        return lotes;
+    }
+
+    static int maximoTokens(String prompt) {
+        return Math.max(1, CONTEXTO_MODELO - estimarTokens(prompt));
+    }
+
+    static int estimarTokens(String texto) {
+        return texto.length() / CARACTERES_POR_TOKEN + 1;
+    }
+}
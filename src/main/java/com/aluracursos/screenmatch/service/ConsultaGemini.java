@@ -2,24 +2,28 @@ package com.aluracursos.screenmatch.service;
 import com.google.genai.Client;
 import com.google.genai.types.GenerateContentResponse;
 
-public class ConsultaGemini {
-    public static String obtenerTraduccion(String texto) {
-        String modelo = "gemini-2.0-flash-lite";
-        String prompt = "Traduce el siguiente texto al español: " + texto;
-        Client cliente = new Client.Builder().apiKey("TU_API_KEY").build();
+import java.util.List;
 
-        try {
-            GenerateContentResponse respuesta = cliente.models.generateContent(
-                    modelo,
-                    prompt,
-                    null // Parámetro para configuraciones adicionales
-            );
-            if (!respuesta.text().isEmpty()) {
-                return respuesta.text();
-            }
-        } catch (Exception e) {
-            System.err.println("Error al llamar a la API de Gemini para traducción: " + e.getMessage());
+// Traductor con Google Gemini. El Client se crea una sola vez y se reutiliza en cada llamada.
+public class ConsultaGemini implements ITraductor {
+    private static final String MODELO = "gemini-2.0-flash-lite";
+
+    private final Client cliente;
+
+    public ConsultaGemini(String apiKey) {
+        this.cliente = new Client.Builder().apiKey(apiKey).build();
+    }
+
+    @Override
+    public List<String> traducir(List<String> textos) {
+        GenerateContentResponse respuesta = cliente.models.generateContent(
+                MODELO,
+                ITraductor.promptLote(textos),
+                null // Parámetro para configuraciones adicionales
+        );
+        if (respuesta.text() == null || respuesta.text().isEmpty()) {
+            throw new IllegalStateException("Gemini devolvió una respuesta vacía");
         }
-        return null;
+        return ITraductor.separarLote(respuesta.text(), textos.size());
     }
 }
@@ -1,27 +1,215 @@
 package com.aluracursos.screenmatch.service;
 
-import java.io.IOException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
+// Cliente HTTP para APIs externas (OMDb).
+//
+// - Una sola instancia de HttpClient por ConsumoAPI: reutiliza conexiones y multiplexa con HTTP/2.
+// - Timeouts de conexión y de lectura configurables.
+// - Reintentos acotados con espera exponencial ante errores de red, 429 y 5xx.
+// - API síncrona (obtenerDatos) y asíncrona (obtenerDatosAsync).
+// - Métricas de Micrometer (expuestas en /actuator/prometheus):
+//     omdb.solicitudes      timer con histograma por estado HTTP (cada intento cuenta como una solicitud)
+//     omdb.fallidas         peticiones que fallaron después de agotar los reintentos
+//     omdb.cache.disco      consultas a la caché de disco, con resultado=acierto|fallo
+//   obtenerMetricas() resume esos valores para quien no usa el registro.
+// - Caché persistente en disco opcional (CacheRespuestasDisco): si la respuesta ya está guardada
+//   y vigente no se hace ninguna petición de red.
+@Service
 public class ConsumoAPI {
+    private static final Logger log = LoggerFactory.getLogger(ConsumoAPI.class);
+
+    public record Metricas(long solicitudes, long fallidas, double latenciaPromedioMs, long latenciaMaximaMs) {}
+
+    private final HttpClient client;
+    private final Duration timeoutLectura;
+    private final int reintentos;
+    private final Duration esperaReintento;
+    private final CacheRespuestasDisco cache; // null si la caché de disco está deshabilitada
+
+    private static final byte[] RESPUESTA_FALLIDA = "\"Response\":\"False\"".getBytes(StandardCharsets.UTF_8);
+
+    private static final String METRICA_SOLICITUDES = "omdb.solicitudes";
+
+    private final MeterRegistry registro;
+    private final Counter fallidas;
+    private final Counter aciertosCache;
+    private final Counter fallosCache;
+
+    // Valores por defecto para quien crea el cliente fuera de Spring (por ejemplo Principal)
+    public ConsumoAPI() {
+        this(Duration.ofSeconds(5), Duration.ofSeconds(10), 2, Duration.ofMillis(200), (CacheRespuestasDisco) null);
+    }
+
+    @Autowired
+    public ConsumoAPI(@Value("${omdb.timeout-conexion:5s}") Duration timeoutConexion,
+                      @Value("${omdb.timeout-lectura:10s}") Duration timeoutLectura,
+                      @Value("${omdb.reintentos:2}") int reintentos,
+                      @Value("${omdb.espera-reintento:200ms}") Duration esperaReintento,
+                      ObjectProvider<CacheRespuestasDisco> cache,
+                      ObjectProvider<MeterRegistry> registro) {
+        this(timeoutConexion, timeoutLectura, reintentos, esperaReintento, cache.getIfAvailable(),
+                registro.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public ConsumoAPI(Duration timeoutConexion, Duration timeoutLectura, int reintentos,
+                      Duration esperaReintento, CacheRespuestasDisco cache) {
+        this(timeoutConexion, timeoutLectura, reintentos, esperaReintento, cache, new SimpleMeterRegistry());
+    }
+
+    public ConsumoAPI(Duration timeoutConexion, Duration timeoutLectura, int reintentos,
+                      Duration esperaReintento, CacheRespuestasDisco cache, MeterRegistry registro) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(timeoutConexion)
+                .build();
+        this.timeoutLectura = timeoutLectura;
+        this.reintentos = reintentos;
+        this.esperaReintento = esperaReintento;
+        this.cache = cache;
+        this.registro = registro;
+        this.fallidas = Counter.builder("omdb.fallidas")
+                .description("Peticiones a OMDb que fallaron después de agotar los reintentos")
+                .register(registro);
+        this.aciertosCache = Counter.builder("omdb.cache.disco").tag("resultado", "acierto").register(registro);
+        this.fallosCache = Counter.builder("omdb.cache.disco").tag("resultado", "fallo").register(registro);
+    }
+
     public String obtenerDatos(String url){
-        HttpClient client = HttpClient.newHttpClient();
+        return new String(obtenerBytes(url), StandardCharsets.UTF_8);
+    }
+
+    public CompletableFuture<String> obtenerDatosAsync(String url){
+        return obtenerBytesAsync(url).thenApply(cuerpo -> new String(cuerpo, StandardCharsets.UTF_8));
+    }
+
+    // Variante sin decodificar: entrega el cuerpo tal como llegó para que Jackson lo lea
+    // directamente (ver ConvierteDatos.obtenerDatos(byte[], Class)).
+    public byte[] obtenerBytes(String url){
+        try {
+            return obtenerBytesAsync(url).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ConsumoApiException error) {
+                throw error;
+            }
+            throw new ConsumoApiException("Error al consultar " + ocultarApiKey(url), -1, e.getCause());
+        }
+    }
+
+    public CompletableFuture<byte[]> obtenerBytesAsync(String url){
+        if (cache != null) {
+            Optional<byte[]> guardada = cache.obtener(url);
+            if (guardada.isPresent()) {
+                aciertosCache.increment();
+                return CompletableFuture.completedFuture(guardada.get());
+            }
+            fallosCache.increment();
+        }
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(url))
+                .timeout(timeoutLectura)
+                .GET()
                 .build();
-        HttpResponse<String> response = null;
-        try {
-            response = client
-                    .send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+        return enviar(request, 0).thenApply(cuerpo -> {
+            // Las respuestas de error de OMDb ({"Response":"False"}) no se guardan
+            if (cache != null && !contiene(cuerpo, RESPUESTA_FALLIDA)) {
+                cache.guardar(url, cuerpo);
+            }
+            return cuerpo;
+        });
+    }
+
+    public Metricas obtenerMetricas() {
+        long total = 0;
+        double totalMs = 0, maximaMs = 0;
+        for (Timer timer : registro.find(METRICA_SOLICITUDES).timers()) {
+            total += timer.count();
+            totalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+            maximaMs = Math.max(maximaMs, timer.max(TimeUnit.MILLISECONDS));
         }
-        String json = response.body();
-        return json;
+        return new Metricas(total,
+                (long) fallidas.count(),
+                total == 0 ? 0 : totalMs / total,
+                (long) maximaMs);
+    }
+
+    private CompletableFuture<byte[]> enviar(HttpRequest request, int intento) {
+        long inicio = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((respuesta, error) -> {
+                    int estado = respuesta == null ? -1 : respuesta.statusCode();
+                    registrar(request, estado, System.nanoTime() - inicio);
+
+                    if (error == null && estado < 400) {
+                        return CompletableFuture.completedFuture(respuesta.body());
+                    }
+                    boolean reintentable = error != null || estado == 429 || estado >= 500;
+                    if (reintentable && intento < reintentos) {
+                        // Espera exponencial: espera, 2*espera, 4*espera...
+                        long esperaMs = esperaReintento.toMillis() << intento;
+                        return CompletableFuture.runAsync(() -> {},
+                                        CompletableFuture.delayedExecutor(esperaMs, TimeUnit.MILLISECONDS))
+                                .thenCompose(nada -> enviar(request, intento + 1));
+                    }
+                    fallidas.increment();
+                    Throwable causa = error instanceof CompletionException ? error.getCause() : error;
+                    return CompletableFuture.<byte[]>failedFuture(new ConsumoApiException(
+                            "Error al consultar " + ocultarApiKey(request.uri().toString()) + " (HTTP " + estado + ")",
+                            estado, causa));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private void registrar(HttpRequest request, int estado, long nanos) {
+        Timer.builder(METRICA_SOLICITUDES)
+                .description("Latencia de cada petición HTTP a OMDb")
+                .tag("estado", String.valueOf(estado))
+                .publishPercentileHistogram()
+                .register(registro)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (log.isDebugEnabled()) {
+            log.debug("GET {} -> {} en {} ms", ocultarApiKey(request.uri().toString()), estado,
+                    TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    private static boolean contiene(byte[] datos, byte[] patron) {
+        buscar:
+        for (int i = 0; i <= datos.length - patron.length; i++) {
+            for (int j = 0; j < patron.length; j++) {
+                if (datos[i + j] != patron[j]) {
+                    continue buscar;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // La llave de la API nunca debe quedar en logs ni en mensajes de error
+    static String ocultarApiKey(String url) {
+        return url.replaceAll("(?i)apikey=[^&]*", "apikey=***");
     }
 }
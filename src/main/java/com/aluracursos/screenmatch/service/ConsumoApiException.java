@@ -0,0 +1,16 @@
+package com.aluracursos.screenmatch.service;
+
+// Error al consultar una API externa. "codigoEstado" es el código HTTP recibido,
+// o -1 si no hubo respuesta (timeout, conexión rechazada, etc.).
+public class ConsumoApiException extends RuntimeException {
+    private final int codigoEstado;
+
+    public ConsumoApiException(String mensaje, int codigoEstado, Throwable causa) {
+        super(mensaje, causa);
+        this.codigoEstado = codigoEstado;
+    }
+
+    public int getCodigoEstado() {
+        return codigoEstado;
+    }
+}
@@ -1,18 +1,57 @@
 package com.aluracursos.screenmatch.service;
 
+import com.aluracursos.screenmatch.model.DatosEpisodio;
 import com.aluracursos.screenmatch.model.DatosSerie;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.aluracursos.screenmatch.model.DatosTemporadas;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ConvierteDatos implements IConvierteDatos {
-    private ObjectMapper objectMapper = new ObjectMapper();
+    // Un ObjectMapper compartido por todas las instancias: su caché de deserializadores se construye una sola vez
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    // ObjectReader por tipo destino: inmutable y seguro entre hilos, evita resolver el tipo en cada lectura.
+    // Los tipos de OMDb se crean por adelantado; cualquier otro se agrega la primera vez que se usa.
+    private static final Map<Class<?>, ObjectReader> lectores = new ConcurrentHashMap<>(Map.of(
+            DatosSerie.class, objectMapper.readerFor(DatosSerie.class),
+            DatosTemporadas.class, objectMapper.readerFor(DatosTemporadas.class),
+            DatosEpisodio.class, objectMapper.readerFor(DatosEpisodio.class)));
 
     @Override
     public <T> T obtenerDatos(String json, Class<T> clase) {
         try {
-            return objectMapper.readValue(json,clase);
-        } catch (JsonProcessingException e) {
+            return lector(clase).readValue(json);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Lee directamente los bytes de la respuesta HTTP: Jackson decodifica UTF-8 sobre la marcha
+    // y no se crea el String intermedio con todo el cuerpo.
+    @Override
+    public <T> T obtenerDatos(byte[] json, Class<T> clase) {
+        try {
+            return lector(clase).readValue(json);
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
+
+    @Override
+    public <T> T obtenerDatos(InputStream json, Class<T> clase) {
+        try (json) {
+            return lector(clase).readValue(json);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ObjectReader lector(Class<?> clase) {
+        return lectores.computeIfAbsent(clase, objectMapper::readerFor);
+    }
 }
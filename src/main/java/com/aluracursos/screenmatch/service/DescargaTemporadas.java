@@ -0,0 +1,82 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.config.FabricaHilos;
+import com.aluracursos.screenmatch.model.DatosTemporadas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+// Descarga las temporadas de una serie desde OMDb de forma concurrente.
+//
+// - Como máximo "concurrencia" peticiones en vuelo al mismo tiempo.
+// - Los resultados se devuelven en el orden de las temporadas, sin importar cuál terminó primero.
+// - Si una temporada falla, las demás se conservan y el número de la fallida se informa en el resultado.
+public class DescargaTemporadas {
+    private static final Logger log = LoggerFactory.getLogger(DescargaTemporadas.class);
+
+    public record Resultado(List<DatosTemporadas> temporadas, List<Integer> fallidas) {}
+
+    private final ConsumoAPI consumoApi;
+    private final IConvierteDatos conversor;
+    private final int concurrencia;
+    private final FabricaHilos hilos;
+
+    public DescargaTemporadas(ConsumoAPI consumoApi, IConvierteDatos conversor, int concurrencia) {
+        this(consumoApi, conversor, concurrencia, FabricaHilos.plataforma());
+    }
+
+    public DescargaTemporadas(ConsumoAPI consumoApi, IConvierteDatos conversor, int concurrencia, FabricaHilos hilos) {
+        if (concurrencia < 1) {
+            throw new IllegalArgumentException("La concurrencia debe ser al menos 1: " + concurrencia);
+        }
+        this.consumoApi = consumoApi;
+        this.conversor = conversor;
+        this.concurrencia = concurrencia;
+        this.hilos = hilos;
+    }
+
+    // urlTemporada recibe el número de temporada (1..totalTemporadas) y devuelve la URL a consultar
+    public Resultado descargar(int totalTemporadas, IntFunction<String> urlTemporada) {
+        if (totalTemporadas < 1) {
+            return new Resultado(List.of(), List.of());
+        }
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Math.min(concurrencia, totalTemporadas),
+                hilos.crear("temporadas-"));
+        try {
+            List<CompletableFuture<DatosTemporadas>> pendientes = IntStream.rangeClosed(1, totalTemporadas)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> descargarTemporada(urlTemporada.apply(i)), ejecutor))
+                    .toList();
+
+            List<DatosTemporadas> temporadas = new ArrayList<>();
+            List<Integer> fallidas = new ArrayList<>();
+            for (int i = 0; i < pendientes.size(); i++) {
+                try {
+                    temporadas.add(pendientes.get(i).join());
+                } catch (CompletionException e) {
+                    log.warn("No fue posible descargar la temporada {}: {}", i + 1, e.getCause().getMessage());
+                    fallidas.add(i + 1);
+                }
+            }
+            return new Resultado(temporadas, fallidas);
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    private DatosTemporadas descargarTemporada(String url) {
+        DatosTemporadas temporada = conversor.obtenerDatos(consumoApi.obtenerBytes(url), DatosTemporadas.class);
+        // OMDb responde 200 con {"Response":"False"} cuando la temporada no existe
+        if (temporada.episodios() == null) {
+            throw new IllegalStateException("La respuesta de OMDb no contiene episodios");
+        }
+        return temporada;
+    }
+}
@@ -0,0 +1,293 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.dto.EstadisticasEvaluacionDTO;
+import com.aluracursos.screenmatch.dto.EvaluacionEpisodioDTO;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent.TipoCambio;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Estadísticas de las evaluaciones de los episodios, por serie y por temporada, mantenidas en memoria.
+//
+// En lugar de agregar la tabla episodios en cada consulta, cada serie y cada temporada tiene un
+// acumulador con cuántos episodios hay por décima de punto (0.0 a 10.0, 101 casillas). De ahí salen
+// en tiempo constante el número de episodios, el promedio, la mínima, la máxima, la desviación
+// estándar y el histograma.
+//
+// - Se construye completo al arrancar la aplicación (una proyección, sin crear entidades).
+// - Con cada CambioCatalogoEvent de un Episodio se resta su evaluación anterior y se suma la nueva.
+// - Los episodios sin evaluación no cuentan: OMDb devuelve "N/A" y Episodio guarda 0.0.
+// - El ranking de consistencia es un TreeSet ordenado por (desviación, -promedio) que se reordena solo
+//   para la serie que cambia; una consulta recorre únicamente las primeras posiciones.
+@Service
+public class EstadisticasEvaluacionService {
+    private static final Logger log = LoggerFactory.getLogger(EstadisticasEvaluacionService.class);
+
+    public static final int LIMITE_POR_DEFECTO = 10;
+    public static final int LIMITE_MAXIMO = 100;
+    // Una serie con menos episodios evaluados no entra en el ranking de consistencia
+    public static final int MINIMO_EPISODIOS_POR_DEFECTO = 5;
+
+    private static final int CASILLAS = 101;  // Décimas de 0.0 a 10.0
+    private static final int BARRAS = 10;     // Histograma por punto: [0,1), [1,2) ... [9,10]
+
+    // Evaluación con la que se contó cada episodio, para poder restarla cuando cambie
+    private record Registro(Long serieId, Integer temporada, int decimas) {}
+
+    // Lugar de una serie en el ranking de consistencia, con los valores sin redondear
+    private record Posicion(long serieId, double desviacion, double promedio) {}
+
+    // Menor desviación primero; a igual desviación, mayor promedio; luego el id para que ninguna se pierda
+    private static final Comparator<Posicion> MAS_CONSISTENTE = Comparator.comparingDouble(Posicion::desviacion)
+            .thenComparing(Comparator.comparingDouble(Posicion::promedio).reversed())
+            .thenComparingLong(Posicion::serieId);
+
+    private final SerieRepository repository;
+
+    private final Map<Long, Registro> registros = new HashMap<>();                    // episodioId -> registro
+    private final Map<Long, Acumulado> porSerie = new HashMap<>();                    // serieId -> acumulado
+    private final Map<Long, TreeMap<Integer, Acumulado>> porTemporada = new HashMap<>(); // serieId -> temporada -> acumulado
+    private final Map<Long, String> titulos = new HashMap<>();                        // serieId -> título
+    private final TreeSet<Posicion> ranking = new TreeSet<>(MAS_CONSISTENTE);         // series con episodios evaluados
+    private final Map<Long, Posicion> posiciones = new HashMap<>();                   // serieId -> posición en el ranking
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public EstadisticasEvaluacionService(SerieRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construir() {
+        lock.writeLock().lock();
+        try {
+            registros.clear();
+            porSerie.clear();
+            porTemporada.clear();
+            titulos.clear();
+            ranking.clear();
+            posiciones.clear();
+            repository.findAll().forEach(s -> titulos.put(s.getId(), s.getTitulo()));
+            for (EvaluacionEpisodioDTO e : repository.evaluacionesDeEpisodios()) {
+                contar(e.id(), e.serieId(), e.temporada(), e.evaluacion());
+            }
+            log.info("Estadísticas de evaluación construidas: {} series, {} episodios evaluados",
+                    titulos.size(), registros.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCatalogo(CambioCatalogoEvent evento) {
+        lock.writeLock().lock();
+        try {
+            if (evento.esDeEpisodio()) {
+                Episodio e = evento.episodio();
+                if (evento.tipo() == TipoCambio.ELIMINADO) {
+                    descontar(e.getId());
+                } else {
+                    titulos.putIfAbsent(evento.serieId(), evento.serie().getTitulo());
+                    contar(e.getId(), evento.serieId(), e.getTemporada(), e.getEvaluacion());
+                }
+            } else if (evento.tipo() == TipoCambio.ELIMINADO) {
+                Long id = evento.serieId();
+                titulos.remove(id);
+                porSerie.remove(id);
+                porTemporada.remove(id);
+                registros.values().removeIf(r -> r.serieId().equals(id));
+                reordenar(id);
+            } else {
+                titulos.put(evento.serieId(), evento.serie().getTitulo());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Estadísticas de toda la serie; null si la serie no existe
+    public EstadisticasEvaluacionDTO deSerie(Long id) {
+        lock.readLock().lock();
+        try {
+            if (!titulos.containsKey(id)) {
+                return null;
+            }
+            return convertir(id, null, porSerie.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Estadísticas de cada temporada con episodios evaluados, en orden de temporada
+    public List<EstadisticasEvaluacionDTO> deTemporadas(Long id) {
+        lock.readLock().lock();
+        try {
+            return porTemporada.getOrDefault(id, new TreeMap<>()).entrySet().stream()
+                    .map(t -> convertir(id, t.getKey(), t.getValue()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Temporadas de la serie ordenadas de mayor a menor promedio
+    public List<EstadisticasEvaluacionDTO> mejoresTemporadas(Long id, Integer limite) {
+        return deTemporadas(id).stream()
+                .sorted(Comparator.comparing(EstadisticasEvaluacionDTO::promedio).reversed())
+                .limit(tamanio(limite))
+                .toList();
+    }
+
+    // Series con al menos "minimoEpisodios" evaluados, de menor a mayor desviación estándar
+    // (a igual desviación, primero la de mayor promedio). Recorre el ranking desde el principio y se detiene
+    // al completar el límite: solo saltea las series con menos episodios que el mínimo.
+    public List<EstadisticasEvaluacionDTO> seriesMasConsistentes(Integer limite, Integer minimoEpisodios) {
+        int minimo = minimoEpisodios == null ? MINIMO_EPISODIOS_POR_DEFECTO : Math.max(1, minimoEpisodios);
+        lock.readLock().lock();
+        try {
+            return ranking.stream()
+                    .filter(p -> porSerie.get(p.serieId()).episodios >= minimo)
+                    .limit(tamanio(limite))
+                    .map(p -> convertir(p.serieId(), null, porSerie.get(p.serieId())))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void contar(Long episodioId, Long serieId, Integer temporada, Double evaluacion) {
+        descontar(episodioId); // Si el episodio ya estaba contado, primero se retira su evaluación anterior
+        if (serieId == null || temporada == null || evaluacion == null || evaluacion <= 0) {
+            return;
+        }
+        int decimas = (int) Math.min(CASILLAS - 1, Math.round(evaluacion * 10));
+        registros.put(episodioId, new Registro(serieId, temporada, decimas));
+        porSerie.computeIfAbsent(serieId, k -> new Acumulado()).agregar(decimas);
+        reordenar(serieId);
+        porTemporada.computeIfAbsent(serieId, k -> new TreeMap<>())
+                .computeIfAbsent(temporada, k -> new Acumulado()).agregar(decimas);
+    }
+
+    private void descontar(Long episodioId) {
+        Registro r = registros.remove(episodioId);
+        if (r == null) {
+            return;
+        }
+        Acumulado serie = porSerie.get(r.serieId());
+        serie.quitar(r.decimas());
+        if (serie.episodios == 0) {
+            porSerie.remove(r.serieId());
+        }
+        reordenar(r.serieId());
+        TreeMap<Integer, Acumulado> temporadas = porTemporada.get(r.serieId());
+        Acumulado temporada = temporadas.get(r.temporada());
+        temporada.quitar(r.decimas());
+        if (temporada.episodios == 0) {
+            temporadas.remove(r.temporada());
+            if (temporadas.isEmpty()) {
+                porTemporada.remove(r.serieId());
+            }
+        }
+    }
+
+    // Vuelve a ubicar la serie en el ranking tras cambiar su acumulado (o la quita si ya no tiene episodios)
+    private void reordenar(Long serieId) {
+        Posicion anterior = posiciones.remove(serieId);
+        if (anterior != null) {
+            ranking.remove(anterior);
+        }
+        Acumulado a = porSerie.get(serieId);
+        if (a != null && a.episodios > 0) {
+            Posicion nueva = new Posicion(serieId, a.desviacion(), (double) a.suma / a.episodios);
+            ranking.add(nueva);
+            posiciones.put(serieId, nueva);
+        }
+    }
+
+    private EstadisticasEvaluacionDTO convertir(Long serieId, Integer temporada, Acumulado a) {
+        String titulo = titulos.get(serieId);
+        if (a == null || a.episodios == 0) {
+            return new EstadisticasEvaluacionDTO(serieId, titulo, temporada, 0, null, null, null, null,
+                    Collections.nCopies(BARRAS, 0));
+        }
+        return new EstadisticasEvaluacionDTO(serieId, titulo, temporada, a.episodios,
+                redondear(a.suma / (10.0 * a.episodios)),
+                a.minima / 10.0,
+                a.maxima / 10.0,
+                redondear(a.desviacion()),
+                a.histograma());
+    }
+
+    private static int tamanio(Integer limite) {
+        return limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+
+    // Evaluaciones de una serie o temporada, contadas por décima de punto.
+    // Suma y suma de cuadrados se llevan en décimas (enteros) para que agregar y quitar no acumule error.
+    private static final class Acumulado {
+        private final int[] conteo = new int[CASILLAS];
+        private int episodios;
+        private long suma;
+        private long sumaCuadrados;
+        private int minima = CASILLAS;
+        private int maxima = -1;
+
+        void agregar(int decimas) {
+            conteo[decimas]++;
+            episodios++;
+            suma += decimas;
+            sumaCuadrados += (long) decimas * decimas;
+            minima = Math.min(minima, decimas);
+            maxima = Math.max(maxima, decimas);
+        }
+
+        void quitar(int decimas) {
+            conteo[decimas]--;
+            episodios--;
+            suma -= decimas;
+            sumaCuadrados -= (long) decimas * decimas;
+            if (episodios == 0) {
+                minima = CASILLAS;
+                maxima = -1;
+                return;
+            }
+            // Si se quitó el último episodio de un extremo, se avanza hasta la siguiente casilla ocupada
+            while (conteo[minima] == 0) {
+                minima++;
+            }
+            while (conteo[maxima] == 0) {
+                maxima--;
+            }
+        }
+
+        // Desviación estándar poblacional, en puntos
+        double desviacion() {
+            double media = (double) suma / episodios;
+            double varianza = (double) sumaCuadrados / episodios - media * media;
+            return Math.sqrt(Math.max(0, varianza)) / 10;
+        }
+
+        List<Integer> histograma() {
+            Integer[] barras = new Integer[BARRAS];
+            Arrays.fill(barras, 0);
+            for (int d = 0; d < CASILLAS; d++) {
+                barras[Math.min(BARRAS - 1, d / 10)] += conteo[d]; // 10.0 cae en la última barra
+            }
+            return List.of(barras);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.dto.EpisodioDTO;
+import com.aluracursos.screenmatch.dto.FilaExportacionDTO;
+import com.aluracursos.screenmatch.dto.SerieExportadaDTO;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Exportación del catálogo completo en NDJSON (una serie con sus episodios por línea).
+//
+// - Las filas se leen con un Stream de JPA (cursor de solo avance, fetch size acotado en
+//   SerieRepository.exportarCatalogo) dentro de una transacción de solo lectura: PostgreSQL solo
+//   usa el fetch size con autocommit desactivado.
+// - La consulta es una proyección a DTO, así que el contexto de persistencia no acumula entidades.
+// - Las filas llegan ordenadas por serie; cada serie se escribe en cuanto aparece la siguiente.
+//   En memoria solo están los episodios de la serie actual, sin importar el tamaño del catálogo.
+@Service
+public class ExportacionCatalogoService {
+    private static final int SERIES_POR_FLUSH = 100;
+
+    private final SerieRepository repository;
+    private final ObjectWriter escritor;
+
+    public ExportacionCatalogoService(SerieRepository repository, ObjectMapper mapper) {
+        this.repository = repository;
+        this.escritor = mapper.writerFor(SerieExportadaDTO.class);
+    }
+
+    // Devuelve el número de series escritas
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream salida) throws IOException {
+        long series = 0;
+        try (Stream<FilaExportacionDTO> filas = repository.exportarCatalogo()) {
+            Iterator<FilaExportacionDTO> it = filas.iterator();
+            FilaExportacionDTO actual = null;
+            List<EpisodioDTO> episodios = new ArrayList<>();
+            while (it.hasNext()) {
+                FilaExportacionDTO fila = it.next();
+                if (actual != null && actual.serieId() != fila.serieId()) {
+                    escribir(salida, actual, episodios);
+                    episodios = new ArrayList<>();
+                    if (++series % SERIES_POR_FLUSH == 0) {
+                        salida.flush();
+                    }
+                }
+                actual = fila;
+                if (fila.tieneEpisodio()) {
+                    episodios.add(fila.episodio());
+                }
+            }
+            if (actual != null) {
+                escribir(salida, actual, episodios);
+                series++;
+            }
+        }
+        salida.flush();
+        return series;
+    }
+
+    private void escribir(OutputStream salida, FilaExportacionDTO fila, List<EpisodioDTO> episodios) throws IOException {
+        salida.write(escritor.writeValueAsBytes(new SerieExportadaDTO(fila.serie(), episodios)));
+        salida.write('\n');
+    }
+}
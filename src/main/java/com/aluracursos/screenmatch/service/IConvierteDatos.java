@@ -1,5 +1,12 @@
 package com.aluracursos.screenmatch.service;
 
+import java.io.InputStream;
+
 public interface IConvierteDatos {
     <T> T obtenerDatos(String json, Class<T> clase);
+
+    // Variantes que leen el JSON sin convertirlo antes a String
+    <T> T obtenerDatos(byte[] json, Class<T> clase);
+
+    <T> T obtenerDatos(InputStream json, Class<T> clase);
 }
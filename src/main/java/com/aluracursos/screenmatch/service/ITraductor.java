@@ -0,0 +1,45 @@
+package com.aluracursos.screenmatch.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Backend de traducción al español. Recibe varios textos para resolverlos con una sola llamada
+// al modelo; la respuesta debe tener el mismo tamaño y orden que la entrada.
+public interface ITraductor {
+    List<String> traducir(List<String> textos);
+
+    Pattern MARCADOR = Pattern.compile("<<<(\\d+)>>>");
+
+    // Une varios textos en un único prompt, cada uno precedido por su marcador <<<n>>>
+    static String promptLote(List<String> textos) {
+        StringBuilder prompt = new StringBuilder("Traduce al español cada uno de los siguientes textos. ")
+                .append("Responde únicamente con las traducciones, en el mismo orden, ")
+                .append("cada una precedida por su marcador <<<n>>> en una línea propia.\n");
+        for (int i = 0; i < textos.size(); i++) {
+            prompt.append("<<<").append(i + 1).append(">>>\n").append(textos.get(i)).append('\n');
+        }
+        return prompt.toString();
+    }
+
+    // Separa la respuesta del modelo usando los marcadores <<<n>>>
+    static List<String> separarLote(String respuesta, int esperados) {
+        List<String> traducciones = new ArrayList<>();
+        Matcher m = MARCADOR.matcher(respuesta);
+        int inicioTexto = -1;
+        while (m.find()) {
+            if (inicioTexto >= 0) {
+                traducciones.add(respuesta.substring(inicioTexto, m.start()).trim());
+            }
+            inicioTexto = m.end();
+        }
+        if (inicioTexto >= 0) {
+            traducciones.add(respuesta.substring(inicioTexto).trim());
+        }
+        if (traducciones.size() != esperados) {
+            throw new IllegalStateException("Se esperaban " + esperados + " traducciones y llegaron " + traducciones.size());
+        }
+        return traducciones;
+    }
+}
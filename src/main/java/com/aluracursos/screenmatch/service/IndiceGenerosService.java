@@ -0,0 +1,71 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent.TipoCambio;
+import com.aluracursos.screenmatch.model.CategoriaEnum;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Combinaciones de géneros (máscaras) que existen en el catálogo.
+//
+// Una condición como "drama Y crimen" o "drama O crimen" sobre una máscara de bits no puede usar
+// un índice B-tree directamente ((generos & x) = x obliga a recorrer la tabla). Pero el catálogo
+// solo tiene unas cuantas combinaciones distintas, así que aquí se eligen en memoria las que cumplen
+// la condición y la consulta queda como "generos IN (...)", que sí usa idx_series_generos.
+//
+// - Se carga al arrancar la aplicación (o en el primer uso).
+// - Cada Serie guardada agrega su combinación. Las combinaciones que dejan de existir no se quitan:
+//   solo agregan un valor al IN que no devuelve filas.
+@Service
+public class IndiceGenerosService {
+    private static final Logger log = LoggerFactory.getLogger(IndiceGenerosService.class);
+
+    private final SerieRepository repository;
+    private volatile Set<Long> combinaciones = ConcurrentHashMap.newKeySet();
+    private volatile boolean construido;
+
+    public IndiceGenerosService(SerieRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void construir() {
+        Set<Long> nuevas = ConcurrentHashMap.newKeySet();
+        nuevas.addAll(repository.combinacionesDeGeneros());
+        combinaciones = nuevas;
+        construido = true;
+        log.info("Índice de géneros construido: {} combinaciones", combinaciones.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCatalogo(CambioCatalogoEvent evento) {
+        if (evento.esDeEpisodio() || evento.tipo() == TipoCambio.ELIMINADO) {
+            return;
+        }
+        Long mascara = evento.serie().getMascaraGeneros();
+        if (mascara != null) {
+            combinaciones.add(mascara);
+        }
+    }
+
+    // Máscaras del catálogo que contienen todos los géneros (todos = true) o al menos uno de ellos
+    public List<Long> mascarasQueCumplen(Set<CategoriaEnum> generos, boolean todos) {
+        if (!construido) {
+            construir();
+        }
+        long buscada = CategoriaEnum.mascara(generos);
+        return combinaciones.stream()
+                .filter(m -> todos ? (m & buscada) == buscada : (m & buscada) != 0)
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,395 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.dto.SerieSimilarDTO;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent.TipoCambio;
+import com.aluracursos.screenmatch.model.CategoriaEnum;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido en memoria para las series similares (/series/{id}/similares).
+//
+// Cada serie ocupa una posición (int) en "fichas". Cada actor apunta a la lista de posiciones de las series
+// donde aparece (ListaPosiciones: un int[] sin objetos Integer). Así se evita un "actores LIKE %...%" por
+// actor, que recorrería toda la tabla.
+//
+// Candidatas de una consulta (nunca se recorre el catálogo completo):
+// - Todas las series que comparten algún actor: las listas de actores son cortas.
+// - De cada género de la serie, las CANDIDATAS_POR_GENERO × límite series de evaluación más cercana.
+//   Un género abarca una fracción grande del catálogo, así que su lista (ListaPorEvaluacion) se mantiene
+//   ordenada por evaluación: una búsqueda binaria y se avanza hacia ambos lados.
+//
+// Puntaje de 0 a 1:
+// - PESO_ACTORES    × actores en común (coeficiente de Dice: 2·comunes / (actoresA + actoresB))
+// - PESO_GENEROS    × géneros en común (Jaccard sobre las máscaras de bits)
+// - PESO_EVALUACION × cercanía de la evaluación (1 - diferencia / 10)
+//
+// - Se construye completo al arrancar la aplicación.
+// - Se actualiza de forma incremental con cada CambioCatalogoEvent de una Serie (repository.save).
+//   Insertar o quitar en una lista es lineal, pero las escrituras son raras frente a las consultas.
+@Service
+public class IndiceSimilaresService {
+    private static final Logger log = LoggerFactory.getLogger(IndiceSimilaresService.class);
+
+    public static final int LIMITE_POR_DEFECTO = 10;
+    public static final int LIMITE_MAXIMO = 50;
+    private static final int CANDIDATAS_POR_GENERO = 4;
+
+    private static final double PESO_ACTORES = 0.5;
+    private static final double PESO_GENEROS = 0.3;
+    private static final double PESO_EVALUACION = 0.2;
+
+    // Serie indexada con lo necesario para puntuar y responder sin ir a la BD.
+    // "actores" son los nombres como vienen de OMDb; "claves", los mismos normalizados para el índice.
+    private record Ficha(long id, String titulo, String poster, CategoriaEnum genero, Double evaluacion,
+                         long generos, String[] actores, String[] claves) {
+
+        double evaluacionOCero() {
+            return evaluacion == null ? 0 : evaluacion;
+        }
+    }
+
+    private record Candidato(int posicion, long id, int actoresEnComun, double puntaje) {}
+
+    // Mayor puntaje primero; a igual puntaje, el id menor (orden estable entre peticiones)
+    private static final Comparator<Candidato> MEJOR = Comparator.comparingDouble(Candidato::puntaje)
+            .thenComparing(Comparator.comparingLong(Candidato::id).reversed());
+
+    private final SerieRepository repository;
+
+    private final List<Ficha> fichas = new ArrayList<>();                 // posición -> ficha (null si está libre)
+    private final Map<Long, Integer> posiciones = new HashMap<>();        // id de la serie -> posición
+    private final ListaPosiciones libres = new ListaPosiciones();         // posiciones de series eliminadas
+    private final Map<String, ListaPosiciones> porActor = new HashMap<>();
+    private final ListaPorEvaluacion[] porGenero = new ListaPorEvaluacion[CategoriaEnum.values().length]; // por ordinal()
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public IndiceSimilaresService(SerieRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construir() {
+        lock.writeLock().lock();
+        try {
+            fichas.clear();
+            posiciones.clear();
+            libres.tamanio = 0;
+            porActor.clear();
+            Arrays.fill(porGenero, null);
+            repository.findAll().forEach(this::indexar);
+            log.info("Índice de series similares construido: {} series, {} actores", posiciones.size(), porActor.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCatalogo(CambioCatalogoEvent evento) {
+        if (evento.esDeEpisodio()) {
+            return; // Los episodios no intervienen en la similitud
+        }
+        lock.writeLock().lock();
+        try {
+            quitar(evento.serieId());
+            if (evento.tipo() != TipoCambio.ELIMINADO) {
+                indexar(evento.serie());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Series que comparten al menos un actor o un género con la serie "id", de mayor a menor puntaje.
+    // Devuelve null si la serie no existe.
+    public List<SerieSimilarDTO> similares(Long id, Integer limite) {
+        int tamanio = limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+
+        lock.readLock().lock();
+        try {
+            Integer posicion = posiciones.get(id);
+            if (posicion == null) {
+                return null;
+            }
+            Ficha base = fichas.get(posicion);
+
+            // Máximo de candidatas posibles: dimensiona la tabla de la consulta, nunca el catálogo
+            int cupo = CANDIDATAS_POR_GENERO * tamanio;
+            int maximo = Long.bitCount(base.generos()) * cupo;
+            for (String clave : base.claves()) {
+                maximo += porActor.get(clave).tamanio;
+            }
+
+            Candidatas candidatas = new Candidatas(maximo, posicion); // La propia serie nunca es candidata
+            for (String clave : base.claves()) {
+                ListaPosiciones lista = porActor.get(clave);
+                for (int i = 0; i < lista.tamanio; i++) {
+                    candidatas.sumarActor(lista.valores[i]);
+                }
+            }
+            for (long g = base.generos(); g != 0; g &= g - 1) {
+                ListaPorEvaluacion lista = porGenero[Long.numberOfTrailingZeros(g)];
+                if (lista != null) {
+                    lista.masCercanas(base.evaluacionOCero(), cupo, candidatas);
+                }
+            }
+
+            // Se conservan los "tamanio" mejores: la cabeza del montículo es el peor de ellos
+            PriorityQueue<Candidato> mejores = new PriorityQueue<>(tamanio + 1, MEJOR);
+            for (int i = 0; i < candidatas.ocupadas.tamanio; i++) {
+                int ranura = candidatas.ocupadas.valores[i];
+                int p = candidatas.posiciones[ranura];
+                Ficha ficha = fichas.get(p);
+                int actoresEnComun = candidatas.actores[ranura];
+                mejores.offer(new Candidato(p, ficha.id(), actoresEnComun, puntaje(base, ficha, actoresEnComun)));
+                if (mejores.size() > tamanio) {
+                    mejores.poll();
+                }
+            }
+
+            List<Candidato> ordenados = new ArrayList<>(mejores);
+            ordenados.sort(MEJOR.reversed());
+            return ordenados.stream()
+                    .map(c -> aDTO(base, fichas.get(c.posicion()), c))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double puntaje(Ficha base, Ficha otra, int actoresEnComun) {
+        int totalActores = base.claves().length + otra.claves().length;
+        double actores = totalActores == 0 ? 0 : 2.0 * actoresEnComun / totalActores;
+
+        long union = base.generos() | otra.generos();
+        double generos = union == 0 ? 0 : (double) Long.bitCount(base.generos() & otra.generos()) / Long.bitCount(union);
+
+        double evaluacion = 0;
+        if (base.evaluacion() != null && otra.evaluacion() != null) {
+            evaluacion = 1 - Math.min(Math.abs(base.evaluacion() - otra.evaluacion()), 10.0) / 10.0;
+        }
+        return PESO_ACTORES * actores + PESO_GENEROS * generos + PESO_EVALUACION * evaluacion;
+    }
+
+    // Los actores en común solo se calculan para las series que se devuelven
+    private static SerieSimilarDTO aDTO(Ficha base, Ficha ficha, Candidato c) {
+        Set<String> clavesBase = Set.of(base.claves());
+        List<String> actoresEnComun = new ArrayList<>(c.actoresEnComun());
+        for (int i = 0; i < ficha.claves().length; i++) {
+            if (clavesBase.contains(ficha.claves()[i])) {
+                actoresEnComun.add(ficha.actores()[i]);
+            }
+        }
+        return new SerieSimilarDTO(ficha.id(),
+                ficha.titulo(),
+                ficha.poster(),
+                ficha.genero(),
+                ficha.evaluacion(),
+                actoresEnComun,
+                CategoriaEnum.deMascara(base.generos() & ficha.generos()),
+                c.puntaje());
+    }
+
+    private void indexar(Serie s) {
+        String[] actores = actores(s.getActores());
+        String[] claves = new String[actores.length];
+        for (int i = 0; i < actores.length; i++) {
+            claves[i] = actores[i].toLowerCase(Locale.ROOT);
+        }
+        long generos = s.getMascaraGeneros() == null ? 0 : s.getMascaraGeneros();
+        Ficha ficha = new Ficha(s.getId(), s.getTitulo(), s.getPoster(), s.getGenero(), s.getEvaluacion(),
+                generos, actores, claves);
+
+        int posicion;
+        if (libres.tamanio > 0) {
+            posicion = libres.valores[--libres.tamanio];
+            fichas.set(posicion, ficha);
+        } else {
+            posicion = fichas.size();
+            fichas.add(ficha);
+        }
+        posiciones.put(ficha.id(), posicion);
+
+        for (String clave : claves) {
+            porActor.computeIfAbsent(clave, k -> new ListaPosiciones()).agregar(posicion);
+        }
+        for (long g = generos; g != 0; g &= g - 1) {
+            int ordinal = Long.numberOfTrailingZeros(g);
+            if (porGenero[ordinal] == null) {
+                porGenero[ordinal] = new ListaPorEvaluacion();
+            }
+            porGenero[ordinal].insertar(posicion, ficha.evaluacionOCero());
+        }
+    }
+
+    private void quitar(Long id) {
+        Integer posicion = id == null ? null : posiciones.remove(id);
+        if (posicion == null) {
+            return;
+        }
+        Ficha anterior = fichas.set(posicion, null);
+        libres.agregar(posicion);
+        for (String clave : anterior.claves()) {
+            ListaPosiciones lista = porActor.get(clave);
+            lista.quitar(posicion);
+            if (lista.tamanio == 0) {
+                porActor.remove(clave);
+            }
+        }
+        for (long g = anterior.generos(); g != 0; g &= g - 1) {
+            porGenero[Long.numberOfTrailingZeros(g)].quitar(posicion, anterior.evaluacionOCero());
+        }
+    }
+
+    // OMDb envía los actores separados por comas ("Bryan Cranston, Aaron Paul, Anna Gunn") o "N/A".
+    // Se descartan vacíos y repetidos (sin distinguir mayúsculas).
+    static String[] actores(String texto) {
+        if (texto == null || texto.isBlank() || texto.trim().equalsIgnoreCase("N/A")) {
+            return new String[0];
+        }
+        Map<String, String> distintos = new LinkedHashMap<>();
+        for (String actor : texto.split(",")) {
+            String nombre = actor.trim();
+            if (!nombre.isEmpty()) {
+                distintos.putIfAbsent(nombre.toLowerCase(Locale.ROOT), nombre);
+            }
+        }
+        return distintos.values().toArray(new String[0]);
+    }
+
+    // Lista de posiciones sin boxing: un int[] que duplica su capacidad al llenarse. El orden no importa.
+    private static final class ListaPosiciones {
+        private int[] valores = new int[4];
+        private int tamanio;
+
+        void agregar(int posicion) {
+            if (tamanio == valores.length) {
+                valores = Arrays.copyOf(valores, tamanio * 2);
+            }
+            valores[tamanio++] = posicion;
+        }
+
+        // El último elemento ocupa el lugar del que se quita
+        void quitar(int posicion) {
+            for (int i = 0; i < tamanio; i++) {
+                if (valores[i] == posicion) {
+                    valores[i] = valores[--tamanio];
+                    return;
+                }
+            }
+        }
+    }
+
+    // Posiciones de un género ordenadas por evaluación (arreglos paralelos, sin boxing)
+    private static final class ListaPorEvaluacion {
+        private int[] posiciones = new int[16];
+        private double[] evaluaciones = new double[16];
+        private int tamanio;
+
+        void insertar(int posicion, double evaluacion) {
+            if (tamanio == posiciones.length) {
+                posiciones = Arrays.copyOf(posiciones, tamanio * 2);
+                evaluaciones = Arrays.copyOf(evaluaciones, tamanio * 2);
+            }
+            int i = primeraMayorOIgual(evaluacion);
+            System.arraycopy(posiciones, i, posiciones, i + 1, tamanio - i);
+            System.arraycopy(evaluaciones, i, evaluaciones, i + 1, tamanio - i);
+            posiciones[i] = posicion;
+            evaluaciones[i] = evaluacion;
+            tamanio++;
+        }
+
+        void quitar(int posicion, double evaluacion) {
+            for (int i = primeraMayorOIgual(evaluacion); i < tamanio && evaluaciones[i] == evaluacion; i++) {
+                if (posiciones[i] == posicion) {
+                    System.arraycopy(posiciones, i + 1, posiciones, i, tamanio - i - 1);
+                    System.arraycopy(evaluaciones, i + 1, evaluaciones, i, tamanio - i - 1);
+                    tamanio--;
+                    return;
+                }
+            }
+        }
+
+        // Marca como candidatas hasta "cupo" series de la lista, las de evaluación más cercana a "evaluacion"
+        void masCercanas(double evaluacion, int cupo, Candidatas candidatas) {
+            int abajo = primeraMayorOIgual(evaluacion) - 1;
+            int arriba = abajo + 1;
+            for (int vistas = 0; vistas < cupo && (abajo >= 0 || arriba < tamanio); vistas++) {
+                boolean tomarArriba = abajo < 0 || (arriba < tamanio
+                        && evaluaciones[arriba] - evaluacion <= evaluacion - evaluaciones[abajo]);
+                candidatas.agregar(tomarArriba ? posiciones[arriba++] : posiciones[abajo--]);
+            }
+        }
+
+        private int primeraMayorOIgual(double evaluacion) {
+            int desde = 0, hasta = tamanio;
+            while (desde < hasta) {
+                int medio = (desde + hasta) >>> 1;
+                if (evaluaciones[medio] < evaluacion) {
+                    desde = medio + 1;
+                } else {
+                    hasta = medio;
+                }
+            }
+            return desde;
+        }
+    }
+
+    // Candidatas de una consulta con sus actores en común: tabla hash de direccionamiento abierto
+    // (posición -> actores) dimensionada por el máximo de candidatas de la consulta, no por el catálogo.
+    // Vive solo durante la consulta: no retiene memoria por hilo (con hilos virtuales cada petición tiene uno nuevo).
+    private static final class Candidatas {
+        private static final int LIBRE = -1;
+
+        private final int[] posiciones;
+        private final int[] actores;
+        private final int mascara;
+        private final int excluida;
+        private final ListaPosiciones ocupadas = new ListaPosiciones(); // Ranuras usadas, en orden de llegada
+
+        Candidatas(int maximo, int excluida) {
+            int capacidad = Integer.highestOneBit(Math.max(2, maximo) * 2 - 1) << 1; // Potencia de 2, carga <= 1/2
+            this.posiciones = new int[capacidad];
+            this.actores = new int[capacidad];
+            this.mascara = capacidad - 1;
+            this.excluida = excluida;
+            Arrays.fill(posiciones, LIBRE);
+        }
+
+        void sumarActor(int posicion) {
+            if (posicion != excluida) {
+                actores[ranura(posicion)]++;
+            }
+        }
+
+        void agregar(int posicion) {
+            if (posicion != excluida) {
+                ranura(posicion);
+            }
+        }
+
+        // Ranura de la posición; la ocupa si todavía no estaba
+        private int ranura(int posicion) {
+            int i = (posicion ^ (posicion >>> 16)) & mascara;
+            while (posiciones[i] != LIBRE && posiciones[i] != posicion) {
+                i = (i + 1) & mascara;
+            }
+            if (posiciones[i] == LIBRE) {
+                posiciones[i] = posicion;
+                ocupadas.agregar(i);
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.dto.ResultadoBusquedaDTO;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent.TipoCambio;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido de trigramas en memoria sobre los títulos de series y episodios.
+//
+// Reemplaza a "e.titulo ILIKE %texto%", que por el comodín inicial no puede usar ningún índice
+// y recorre toda la tabla episodios. Aquí cada título se descompone en trigramas
+// ("breaking" -> "  b", " br", "bre", "rea", ...) y cada trigrama apunta a los documentos que lo
+// contienen. Una búsqueda solo visita las listas de los trigramas del texto buscado.
+//
+// - Se construye completo al arrancar la aplicación.
+// - Se actualiza de forma incremental con cada CambioCatalogoEvent (repository.save).
+@Service
+public class IndiceTitulosService {
+    private static final Logger log = LoggerFactory.getLogger(IndiceTitulosService.class);
+
+    public static final int LIMITE_POR_DEFECTO = 10;
+    public static final int LIMITE_MAXIMO = 100;
+    // Fracción mínima de trigramas de la búsqueda que debe contener un título para ser resultado
+    private static final double PUNTAJE_MINIMO = 0.3;
+
+    private static final String SERIE = "serie";
+    private static final String EPISODIO = "episodio";
+
+    // Documento indexado: una serie o un episodio con los datos necesarios para responder sin ir a la BD
+    private record Documento(String tipo, Long id, Long serieId, String serie, String titulo,
+                             Integer temporada, Integer numeroEpisodio, Set<String> trigramas) {}
+
+    private final SerieRepository repository;
+
+    private final Map<String, Documento> documentos = new HashMap<>();          // llave -> documento
+    private final Map<String, Set<String>> publicaciones = new HashMap<>();     // trigrama -> llaves
+    private final Map<Long, Set<String>> episodiosPorSerie = new HashMap<>();   // serieId -> llaves de episodios
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public IndiceTitulosService(SerieRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construir() {
+        lock.writeLock().lock();
+        try {
+            documentos.clear();
+            publicaciones.clear();
+            episodiosPorSerie.clear();
+            repository.findAll().forEach(this::indexarSerie);
+            repository.todosLosEpisodiosConSerie().forEach(this::indexarEpisodio);
+            log.info("Índice de títulos construido: {} documentos, {} trigramas", documentos.size(), publicaciones.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCatalogo(CambioCatalogoEvent evento) {
+        lock.writeLock().lock();
+        try {
+            if (evento.esDeEpisodio()) {
+                if (evento.tipo() == TipoCambio.ELIMINADO) {
+                    quitar(llave(EPISODIO, evento.episodio().getId()));
+                } else {
+                    indexarEpisodio(evento.episodio());
+                }
+            } else if (evento.tipo() == TipoCambio.ELIMINADO) {
+                quitar(llave(SERIE, evento.serieId()));
+                Set<String> episodios = episodiosPorSerie.remove(evento.serieId());
+                if (episodios != null) {
+                    episodios.forEach(this::quitar);
+                }
+            } else {
+                indexarSerie(evento.serie());
+                renombrarSerieEnEpisodios(evento.serie());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ResultadoBusquedaDTO> buscar(String texto, String tipo, Integer limite) {
+        Set<String> consulta = trigramas(texto);
+        if (consulta.isEmpty()) {
+            return List.of();
+        }
+        int tamanio = limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+
+        lock.readLock().lock();
+        try {
+            // Cuenta cuántos trigramas de la búsqueda comparte cada documento
+            Map<String, Integer> coincidencias = new HashMap<>();
+            for (String trigrama : consulta) {
+                Set<String> llaves = publicaciones.get(trigrama);
+                if (llaves != null) {
+                    llaves.forEach(l -> coincidencias.merge(l, 1, Integer::sum));
+                }
+            }
+
+            // Puntaje = fracción de la búsqueda contenida en el título; desempata la similitud de Jaccard
+            // (premia títulos cortos que coinciden casi por completo).
+            record Candidato(Documento doc, double puntaje, double jaccard) {}
+            return coincidencias.entrySet().stream()
+                    .map(c -> {
+                        Documento doc = documentos.get(c.getKey());
+                        int comunes = c.getValue();
+                        return new Candidato(doc,
+                                (double) comunes / consulta.size(),
+                                (double) comunes / (consulta.size() + doc.trigramas().size() - comunes));
+                    })
+                    .filter(c -> c.puntaje() >= PUNTAJE_MINIMO)
+                    .filter(c -> tipo == null || tipo.equalsIgnoreCase(c.doc().tipo()))
+                    .sorted(Comparator.comparingDouble(Candidato::puntaje)
+                            .thenComparingDouble(Candidato::jaccard).reversed())
+                    .limit(tamanio)
+                    .map(c -> new ResultadoBusquedaDTO(c.doc().tipo(),
+                            c.doc().serieId(),
+                            c.doc().serie(),
+                            c.doc().titulo(),
+                            c.doc().temporada(),
+                            c.doc().numeroEpisodio(),
+                            c.puntaje()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void indexarSerie(Serie s) {
+        agregar(llave(SERIE, s.getId()),
+                new Documento(SERIE, s.getId(), s.getId(), s.getTitulo(), s.getTitulo(), null, null, trigramas(s.getTitulo())));
+    }
+
+    private void indexarEpisodio(Episodio e) {
+        Serie s = e.getSerie();
+        String llave = llave(EPISODIO, e.getId());
+        agregar(llave, new Documento(EPISODIO, e.getId(), s.getId(), s.getTitulo(), e.getTitulo(),
+                e.getTemporada(), e.getNumeroEpisodio(), trigramas(e.getTitulo())));
+        episodiosPorSerie.computeIfAbsent(s.getId(), id -> new HashSet<>()).add(llave);
+    }
+
+    // Los episodios guardan el título de su serie para mostrarlo en los resultados
+    private void renombrarSerieEnEpisodios(Serie s) {
+        Set<String> llaves = episodiosPorSerie.getOrDefault(s.getId(), Set.of());
+        for (String llave : llaves) {
+            Documento d = documentos.get(llave);
+            if (d != null && !Objects.equals(d.serie(), s.getTitulo())) {
+                documentos.put(llave, new Documento(d.tipo(), d.id(), d.serieId(), s.getTitulo(), d.titulo(),
+                        d.temporada(), d.numeroEpisodio(), d.trigramas()));
+            }
+        }
+    }
+
+    private void agregar(String llave, Documento doc) {
+        quitar(llave); // Si el documento ya existía, primero se retiran sus trigramas anteriores
+        documentos.put(llave, doc);
+        doc.trigramas().forEach(t -> publicaciones.computeIfAbsent(t, k -> new HashSet<>()).add(llave));
+    }
+
+    private void quitar(String llave) {
+        Documento anterior = documentos.remove(llave);
+        if (anterior == null) {
+            return;
+        }
+        for (String t : anterior.trigramas()) {
+            Set<String> llaves = publicaciones.get(t);
+            if (llaves != null) {
+                llaves.remove(llave);
+                if (llaves.isEmpty()) {
+                    publicaciones.remove(t);
+                }
+            }
+        }
+    }
+
+    private static String llave(String tipo, Long id) {
+        return tipo + ":" + id;
+    }
+
+    // Normaliza el texto (minúsculas, sin acentos ni signos) y genera los trigramas de cada palabra.
+    // Igual que pg_trgm, cada palabra se rellena con dos espacios al inicio y uno al final.
+    static Set<String> trigramas(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return Set.of();
+        }
+        String normalizado = Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replaceAll("[^\\p{Alnum}]+", " ")
+                .trim();
+        Set<String> resultado = new HashSet<>();
+        for (String palabra : normalizado.split(" ")) {
+            if (palabra.isEmpty()) {
+                continue;
+            }
+            String relleno = "  " + palabra + " ";
+            for (int i = 0; i + 3 <= relleno.length(); i++) {
+                resultado.add(relleno.substring(i, i + 3));
+            }
+        }
+        return resultado;
+    }
+}
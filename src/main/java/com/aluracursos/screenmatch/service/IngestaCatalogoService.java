@@ -0,0 +1,255 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.config.FabricaHilos;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.DatosTemporadas;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+// Ingesta masiva del catálogo a partir de un archivo de títulos (uno por línea, "#" para comentarios).
+//
+// Flujo:
+//   archivo -> [N hilos: OMDb serie + temporadas, con límite de tasa] -> cola acotada -> escritor por lotes -> PostgreSQL
+//
+// - Concurrencia acotada: "ingesta.concurrencia" hilos consultan OMDb al mismo tiempo.
+// - Límite de tasa: todas las peticiones a OMDb (serie y temporadas) pasan por un LimitadorTasa.
+// - Contrapresión: los resultados esperan en una cola acotada; si el escritor va lento, los hilos se bloquean.
+// - Escritura por lotes: "ingesta.tamanio-lote" series por saveAll (los episodios van en lotes JDBC).
+// - Reanudación: cada título guardado (o ya existente) se agrega a "<archivo>.checkpoint"; al volver a
+//   ejecutar la ingesta esos títulos se omiten. Los títulos fallidos no se marcan y se reintentan.
+// - Métricas: progreso periódico y resumen con títulos/s y episodios/s.
+// - Las sinopsis de cada lote se traducen juntas con TraduccionService (caché + lotes).
+@Service
+public class IngestaCatalogoService {
+    private static final Logger log = LoggerFactory.getLogger(IngestaCatalogoService.class);
+    private static final long INTERVALO_PROGRESO_MS = 5_000;
+
+    public record ResumenIngesta(int titulos, int guardados, int existentes, int fallidos, long episodios,
+                                 double segundos, double titulosPorSegundo, double episodiosPorSegundo) {}
+
+    private enum Estado { NUEVA, EXISTENTE, FALLIDA }
+
+    // Resultado de consultar un título en OMDb. La Serie se construye en el escritor para poder
+    // reintentarla desde cero si su lote falla.
+    private record Resultado(String entrada, Estado estado, DatosSerie serie, List<DatosTemporadas> temporadas,
+                             String error) {}
+
+    private final SerieRepository repository;
+    private final ConsumoAPI consumoApi;
+    private final TraduccionService traduccionService;
+    private final FabricaHilos hilos;
+    private final IConvierteDatos conversor = new ConvierteDatos();
+    private final String urlBase;
+    private final String apiKey;
+    private final int concurrencia;
+    private final int tamanioLote;
+    private final double solicitudesPorSegundo;
+
+    public IngestaCatalogoService(SerieRepository repository,
+                                  ConsumoAPI consumoApi,
+                                  TraduccionService traduccionService,
+                                  FabricaHilos hilos,
+                                  @Value("${omdb.url-base:https://www.omdbapi.com/}") String urlBase,
+                                  @Value("${omdb.apikey:}") String apiKey,
+                                  @Value("${ingesta.concurrencia:4}") int concurrencia,
+                                  @Value("${ingesta.tamanio-lote:20}") int tamanioLote,
+                                  @Value("${ingesta.solicitudes-por-segundo:10}") double solicitudesPorSegundo) {
+        this.repository = repository;
+        this.consumoApi = consumoApi;
+        this.traduccionService = traduccionService;
+        this.hilos = hilos;
+        this.urlBase = urlBase;
+        this.apiKey = apiKey;
+        this.concurrencia = concurrencia;
+        this.tamanioLote = tamanioLote;
+        this.solicitudesPorSegundo = solicitudesPorSegundo;
+    }
+
+    public ResumenIngesta ejecutar(Path archivo) throws IOException, InterruptedException {
+        Path checkpoint = archivo.resolveSibling(archivo.getFileName() + ".checkpoint");
+        Set<String> completados = leerCheckpoint(checkpoint);
+        List<String> pendientes = Files.readAllLines(archivo, StandardCharsets.UTF_8).stream()
+                .map(String::trim)
+                .filter(t -> !t.isEmpty() && !t.startsWith("#"))
+                .distinct()
+                .filter(t -> !completados.contains(normalizar(t)))
+                .toList();
+        log.info("Ingesta de {}: {} títulos pendientes ({} ya completados)", archivo, pendientes.size(), completados.size());
+
+        LimitadorTasa limitador = new LimitadorTasa(solicitudesPorSegundo);
+        BlockingQueue<Resultado> resultados = new ArrayBlockingQueue<>(Math.max(1, tamanioLote * 2));
+        ExecutorService ejecutor = Executors.newFixedThreadPool(concurrencia, hilos.crear("ingesta-"));
+        pendientes.forEach(titulo -> ejecutor.execute(() -> {
+            Resultado r;
+            try {
+                r = consultar(titulo, limitador);
+            } catch (Throwable e) {
+                // Cada título debe dejar su resultado en la cola: el consumidor espera exactamente uno por
+                // título y se bloquearía para siempre si un Error (de Jackson, del cliente HTTP...) se perdiera
+                log.error("Error inesperado al consultar '{}'", titulo, e);
+                r = new Resultado(titulo, Estado.FALLIDA, null, null, e.toString());
+            }
+            try {
+                resultados.put(r);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        ejecutor.shutdown();
+
+        long inicio = System.nanoTime();
+        long ultimoProgreso = System.currentTimeMillis();
+        int guardados = 0, existentes = 0, fallidos = 0;
+        long episodios = 0;
+        Set<String> titulosVistos = new HashSet<>(); // Evita duplicados cuando dos líneas apuntan a la misma serie
+        List<Resultado> lote = new ArrayList<>();
+        try {
+            for (int i = 1; i <= pendientes.size(); i++) {
+                Resultado r = resultados.take();
+                if (r.estado() == Estado.FALLIDA) {
+                    fallidos++;
+                    log.warn("No fue posible importar '{}': {}", r.entrada(), r.error());
+                } else if (r.estado() == Estado.EXISTENTE || !titulosVistos.add(normalizar(r.serie().titulo()))) {
+                    existentes++;
+                    marcarCompletados(checkpoint, List.of(r.entrada()));
+                } else {
+                    lote.add(r);
+                }
+
+                if (lote.size() >= tamanioLote || (i == pendientes.size() && !lote.isEmpty())) {
+                    int[] guardado = guardarLote(lote, checkpoint);
+                    guardados += guardado[0];
+                    episodios += guardado[1];
+                    fallidos += lote.size() - guardado[0];
+                    lote.clear();
+                }
+
+                if (System.currentTimeMillis() - ultimoProgreso >= INTERVALO_PROGRESO_MS) {
+                    ultimoProgreso = System.currentTimeMillis();
+                    double segundos = (System.nanoTime() - inicio) / 1e9;
+                    log.info("Ingesta: {}/{} títulos | {} guardados, {} existentes, {} fallidos | {} títulos/s, {} episodios/s",
+                            i, pendientes.size(), guardados, existentes, fallidos,
+                            String.format("%.1f", i / segundos), String.format("%.1f", episodios / segundos));
+                }
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+
+        double segundos = Math.max((System.nanoTime() - inicio) / 1e9, 1e-9);
+        ResumenIngesta resumen = new ResumenIngesta(pendientes.size(), guardados, existentes, fallidos, episodios,
+                segundos, pendientes.size() / segundos, episodios / segundos);
+        log.info("Ingesta terminada: {}", resumen);
+        return resumen;
+    }
+
+    // Se ejecuta en los hilos del pool: consulta la serie y todas sus temporadas en OMDb
+    private Resultado consultar(String titulo, LimitadorTasa limitador) {
+        try {
+            limitador.adquirir();
+            String urlSerie = urlBase + "?t=" + URLEncoder.encode(titulo, StandardCharsets.UTF_8) + "&apikey=" + apiKey;
+            DatosSerie datos = conversor.obtenerDatos(consumoApi.obtenerBytes(urlSerie), DatosSerie.class);
+            if (datos.titulo() == null) {
+                return new Resultado(titulo, Estado.FALLIDA, null, null, "OMDb no encontró la serie");
+            }
+            new Serie(datos); // Valida la conversión (evaluación, género) antes de gastar peticiones en temporadas
+            if (repository.existsByTituloIgnoreCase(datos.titulo())) {
+                return new Resultado(titulo, Estado.EXISTENTE, datos, null, null);
+            }
+            List<DatosTemporadas> temporadas = new ArrayList<>();
+            int total = datos.totalTemporadas() == null ? 0 : datos.totalTemporadas();
+            for (int i = 1; i <= total; i++) {
+                limitador.adquirir();
+                DatosTemporadas temporada = conversor.obtenerDatos(consumoApi.obtenerBytes(urlSerie + "&season=" + i),
+                        DatosTemporadas.class);
+                if (temporada.episodios() != null) {
+                    temporadas.add(temporada);
+                }
+            }
+            return new Resultado(titulo, Estado.NUEVA, datos, temporadas, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Resultado(titulo, Estado.FALLIDA, null, null, "Ingesta interrumpida");
+        } catch (RuntimeException e) {
+            return new Resultado(titulo, Estado.FALLIDA, null, null, e.getMessage());
+        }
+    }
+
+    // Guarda el lote en una sola transacción. Si falla, reintenta serie por serie para aislar la que
+    // causa el error y no perder las demás. Devuelve {series guardadas, episodios guardados}.
+    private int[] guardarLote(List<Resultado> lote, Path checkpoint) throws IOException {
+        try {
+            List<Serie> series = lote.stream().map(this::construirSerie).toList();
+            traducirSinopsis(series);
+            repository.saveAll(series);
+            marcarCompletados(checkpoint, lote.stream().map(Resultado::entrada).toList());
+            return new int[]{series.size(), series.stream().mapToInt(s -> s.getEpisodioList().size()).sum()};
+        } catch (RuntimeException errorLote) {
+            log.warn("Falló el lote de {} series, se guardarán una por una: {}", lote.size(), errorLote.getMessage());
+        }
+        int guardadas = 0, episodios = 0;
+        for (Resultado r : lote) {
+            try {
+                Serie serie = construirSerie(r);
+                traducirSinopsis(List.of(serie));
+                repository.save(serie);
+                marcarCompletados(checkpoint, List.of(r.entrada()));
+                guardadas++;
+                episodios += serie.getEpisodioList().size();
+            } catch (RuntimeException e) {
+                log.warn("No fue posible guardar '{}': {}", r.entrada(), e.getMessage());
+            }
+        }
+        return new int[]{guardadas, episodios};
+    }
+
+    // Conversión igual a la del menú de consola: Serie(DatosSerie) y Episodio(temporada, DatosEpisodio)
+    private Serie construirSerie(Resultado r) {
+        Serie serie = new Serie(r.serie());
+        List<Episodio> episodios = r.temporadas().stream()
+                .flatMap(t -> t.episodios().stream().map(e -> new Episodio(t.numero(), e)))
+                .collect(Collectors.toList());
+        serie.setEpisodioList(episodios);
+        return serie;
+    }
+
+    private void traducirSinopsis(List<Serie> series) {
+        List<String> traducidas = traduccionService.traducirLote(series.stream().map(Serie::getSinopsis).toList());
+        for (int i = 0; i < series.size(); i++) {
+            series.get(i).setSinopsis(traducidas.get(i));
+        }
+    }
+
+    private Set<String> leerCheckpoint(Path checkpoint) throws IOException {
+        if (!Files.exists(checkpoint)) {
+            return Set.of();
+        }
+        return Files.readAllLines(checkpoint, StandardCharsets.UTF_8).stream()
+                .map(IngestaCatalogoService::normalizar)
+                .collect(Collectors.toSet());
+    }
+
+    private void marcarCompletados(Path checkpoint, List<String> titulos) throws IOException {
+        Files.write(checkpoint, titulos, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String normalizar(String titulo) {
+        return titulo.trim().toLowerCase(Locale.ROOT);
+    }
+}
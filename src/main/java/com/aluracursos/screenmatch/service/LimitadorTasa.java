@@ -0,0 +1,32 @@
+package com.aluracursos.screenmatch.service;
+
+import java.util.concurrent.TimeUnit;
+
+// Limitador de tasa sencillo: reparte los permisos de forma uniforme ("solicitudesPorSegundo"),
+// sin ráfagas. Cada llamada a adquirir() reserva el siguiente turno libre y espera hasta él.
+public class LimitadorTasa {
+    private final long intervaloNanos;
+    private long siguienteTurno = System.nanoTime();
+
+    public LimitadorTasa(double solicitudesPorSegundo) {
+        if (solicitudesPorSegundo <= 0) {
+            throw new IllegalArgumentException("La tasa debe ser mayor que cero: " + solicitudesPorSegundo);
+        }
+        this.intervaloNanos = (long) (1_000_000_000L / solicitudesPorSegundo);
+    }
+
+    public void adquirir() throws InterruptedException {
+        long espera;
+        synchronized (this) {
+            long ahora = System.nanoTime();
+            if (siguienteTurno < ahora) {
+                siguienteTurno = ahora;
+            }
+            espera = siguienteTurno - ahora;
+            siguienteTurno += intervaloNanos;
+        }
+        if (espera > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+}
@@ -1,33 +1,66 @@
 package com.aluracursos.screenmatch.service;
 
+import com.aluracursos.screenmatch.config.CacheConfiguration;
 import com.aluracursos.screenmatch.dto.EpisodioDTO;
+import com.aluracursos.screenmatch.dto.LoteSeriesDTO;
 import com.aluracursos.screenmatch.dto.SerieDTO;
 import com.aluracursos.screenmatch.model.CategoriaEnum;
-import com.aluracursos.screenmatch.model.Episodio;
 import com.aluracursos.screenmatch.model.Serie;
 import com.aluracursos.screenmatch.repository.SerieRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service // Indica que esta clase pertenece a la capa de servicio
+@Transactional(readOnly = true) // Solo consultas: con réplica configurada se atienden desde el pool de lectura
 public class SerieService {
+    public static final int LIMITE_POR_DEFECTO = 20;  // Tamaño de página cuando el cliente no envía "limit"
+    public static final int LIMITE_MAXIMO = 100;      // Tope para que una sola petición no recorra todo el catálogo
+
     @Autowired // Inyección de dependencias: permite usar el repositorio
     private SerieRepository repository;
 
+    @Autowired
+    private IndiceGenerosService indiceGeneros;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${series.lote.maximo:100}") // Ids aceptados por /series/batch en una petición
+    private int maximoLote;
+
+    // Las lecturas con @Cacheable se sirven desde memoria; CacheCatalogoService las invalida
+    // cuando se guarda una Serie o uno de sus episodios.
+    @Cacheable(CacheConfiguration.TOP5)
     public List<SerieDTO> obtenerTop5Series(){
         return convertirDatos(repository.findTop5ByOrderByEvaluacionDesc());
     }
 
+    @Cacheable(CacheConfiguration.LANZAMIENTOS)
     public List<SerieDTO> obtenerSeriesMasRecientes(){
         return convertirDatos(repository.lanzamientosMasRecientes());
     }
 
-    public List<SerieDTO> obtenerTodasLasSeries() {
-        return convertirDatos(repository.findAll());
+    // Devuelve la página de series cuyo id es mayor que "after" (cursor).
+    // El cliente pide la siguiente página enviando como "after" el id de la última serie recibida.
+    public List<SerieDTO> obtenerTodasLasSeries(Long after, Integer limit) {
+        long cursor = after == null ? 0L : after;
+        int tamanio = limit == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limit, LIMITE_MAXIMO));
+        return repository.seriesDespuesDe(cursor, PageRequest.of(0, tamanio));
     }
 
     public List<SerieDTO> convertirDatos(List<Serie> serieList){
@@ -38,6 +71,7 @@ public class SerieService {
                         s.getEvaluacion(),
                         s.getPoster(),
                         s.getGenero(),
+                        s.getGeneros(),
                         s.getActores(),
                         s.getSinopsis()
                 ))
@@ -45,6 +79,7 @@ public class SerieService {
     }
 
 
+    @Cacheable(cacheNames = CacheConfiguration.SERIE_POR_ID, unless = "#result == null")
     public SerieDTO SeriePorId(Long id){
         Optional<Serie> serie = repository.findById(id);
         if(serie.isPresent()){
@@ -55,14 +90,44 @@ public class SerieService {
                     s.getEvaluacion(),
                     s.getPoster(),
                     s.getGenero(),
+                    s.getGeneros(),
                     s.getActores(),
                     s.getSinopsis());
         }
         return null;
     }
 
+    // Las series pedidas en una sola consulta (WHERE id IN ...), devueltas en el orden de "ids".
+    // Los ids repetidos se devuelven una vez; los que no existen se informan en noEncontradas.
+    public LoteSeriesDTO seriesPorIds(List<Long> ids) {
+        if (ids.size() > maximoLote) {
+            throw new IllegalArgumentException("Se pidieron " + ids.size() + " series; el máximo por petición es " + maximoLote);
+        }
+        List<Long> distintos = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distintos.isEmpty()) {
+            return new LoteSeriesDTO(List.of(), List.of());
+        }
+        Map<Long, SerieDTO> encontradas = repository.seriesPorIds(distintos).stream()
+                .collect(Collectors.toMap(SerieDTO::id, Function.identity()));
+
+        List<SerieDTO> series = new ArrayList<>(encontradas.size());
+        List<Long> noEncontradas = new ArrayList<>();
+        for (Long id : distintos) {
+            SerieDTO serie = encontradas.get(id);
+            if (serie != null) {
+                series.add(serie);
+            } else {
+                noEncontradas.add(id);
+            }
+        }
+        return new LoteSeriesDTO(series, noEncontradas);
+    }
+
     public List<EpisodioDTO> obtenerTodosLosEpisodios(Long id) {
-        Optional<Serie> serie = repository.findById(id);
+        // Caliente: Serie, lista de episodios y episodios salen de la caché de segundo nivel, sin consultas.
+        // Frío: una sola consulta con el plan explícito (findById + la colección LAZY serían la Serie, la
+        // lista y un SELECT por cada episodio que falte en la caché). Esa consulta deja la caché caliente.
+        Optional<Serie> serie = episodiosEnCache(id) ? repository.findById(id) : repository.buscarConEpisodiosPorId(id);
         if(serie.isPresent()){
             Serie s = serie.get();
             return s.getEpisodioList().stream()
@@ -76,21 +141,26 @@ public class SerieService {
         return null;
     }
 
-    public List<EpisodioDTO> obtenerEpisodiosPorTemporada(Long id, Integer temporada) {
-            List<Episodio> episodios = repository.todosLosEpisodiosPorTemporada(id, temporada);
-            return episodios.stream()
-                    .map(e -> new EpisodioDTO(e.getTemporada(),
-                            e.getTitulo(),
-                            e.getNumeroEpisodio()
-
-                    ))
-                    .collect(Collectors.toList());
+    private boolean episodiosEnCache(Long id) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        return cache.containsEntity(Serie.class, id) && cache.containsCollection(Serie.ROL_EPISODIOS, id);
+    }
 
+    public List<EpisodioDTO> obtenerEpisodiosPorTemporada(Long id, Integer temporada) {
+        return repository.episodiosPorTemporada(id, temporada); // Proyección directa, ordenada por número de episodio
     }
 
-    public List<SerieDTO> obtenerSeriePorGenero(String genero) {
-        List<Serie> serie = repository.findByGenero(CategoriaEnum.fromFront(genero));
-        return convertirDatos(serie); // <-- Esto
+    // Series que tienen todos los géneros indicados (todos = true) o al menos uno de ellos.
+    // La llave de la caché son los CategoriaEnum (no el texto de la URL): "drama,crimen" y "crimen,drama"
+    // comparten la entrada.
+    @Cacheable(cacheNames = CacheConfiguration.SERIES_POR_GENERO,
+            key = "T(com.aluracursos.screenmatch.model.CategoriaEnum).listaDesdeFront(#generos).toString() + #todos")
+    public List<SerieDTO> obtenerSeriesPorGeneros(String generos, boolean todos) {
+        List<Long> mascaras = indiceGeneros.mascarasQueCumplen(CategoriaEnum.listaDesdeFront(generos), todos);
+        if (mascaras.isEmpty()) {
+            return List.of(); // Ninguna serie del catálogo tiene esa combinación
+        }
+        return repository.seriesConMascaraDeGeneros(mascaras);
     }
 
 }
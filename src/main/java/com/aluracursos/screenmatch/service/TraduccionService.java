@@ -0,0 +1,151 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.config.FabricaHilos;
+import com.aluracursos.screenmatch.model.Traduccion;
+import com.aluracursos.screenmatch.repository.TraduccionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Traducción de sinopsis con caché persistente, lotes y ejecución asíncrona.
+//
+// 1. Cada texto se identifica por el SHA-256 de su contenido y se busca en la tabla "traducciones".
+// 2. Los textos que faltan (sin repetir) se agrupan en lotes de "traduccion.tamanio-lote" y cada lote
+//    es una sola llamada al backend (ITraductor).
+// 3. Los lotes se ejecutan en un pool de "traduccion.concurrencia" hilos: nunca hay más llamadas
+//    simultáneas al modelo que ese número.
+// 4. Las traducciones nuevas se guardan una por una. Si otra petición guardó el mismo texto en paralelo
+//    (llave duplicada), se conserva la suya y se sigue con las demás: lo ya traducido se devuelve igual.
+//    Si la llamada al backend falla se devuelve el texto original sin guardarlo.
+//
+// Sin backend configurado (traduccion.proveedor vacío) los textos se devuelven tal cual.
+@Service
+public class TraduccionService {
+    private static final Logger log = LoggerFactory.getLogger(TraduccionService.class);
+
+    private final TraduccionRepository repository;
+    private final ITraductor traductor; // null si no hay backend configurado
+    private final int tamanioLote;
+    private final ExecutorService ejecutor;
+
+    @Autowired
+    public TraduccionService(TraduccionRepository repository,
+                             ObjectProvider<ITraductor> traductor,
+                             @Value("${traduccion.tamanio-lote:10}") int tamanioLote,
+                             @Value("${traduccion.concurrencia:2}") int concurrencia,
+                             FabricaHilos hilos) {
+        this(repository, traductor.getIfAvailable(), tamanioLote, concurrencia, hilos);
+    }
+
+    public TraduccionService(TraduccionRepository repository, ITraductor traductor, int tamanioLote, int concurrencia) {
+        this(repository, traductor, tamanioLote, concurrencia, FabricaHilos.plataforma());
+    }
+
+    public TraduccionService(TraduccionRepository repository, ITraductor traductor, int tamanioLote, int concurrencia,
+                             FabricaHilos hilos) {
+        this.repository = repository;
+        this.traductor = traductor;
+        this.tamanioLote = tamanioLote;
+        this.ejecutor = Executors.newFixedThreadPool(concurrencia, hilos.crear("traduccion-"));
+    }
+
+    public String traducir(String texto) {
+        return traducirLote(Collections.singletonList(texto)).get(0);
+    }
+
+    public List<String> traducirLote(List<String> textos) {
+        return traducirLoteAsync(textos).join();
+    }
+
+    public CompletableFuture<String> traducirAsync(String texto) {
+        return traducirLoteAsync(Collections.singletonList(texto)).thenApply(t -> t.get(0));
+    }
+
+    // Devuelve las traducciones en el mismo orden que "textos". Los nulos y vacíos se devuelven tal cual.
+    public CompletableFuture<List<String>> traducirLoteAsync(List<String> textos) {
+        if (traductor == null) {
+            return CompletableFuture.completedFuture(textos);
+        }
+        Map<String, String> hashPorTexto = new LinkedHashMap<>();
+        textos.stream()
+                .filter(t -> t != null && !t.isBlank())
+                .forEach(t -> hashPorTexto.computeIfAbsent(t, TraduccionService::hash));
+
+        Map<String, String> traducidas = new HashMap<>(); // hash -> traducción
+        repository.findAllById(hashPorTexto.values())
+                .forEach(t -> traducidas.put(t.getHash(), t.getTraduccion()));
+
+        List<String> faltantes = hashPorTexto.keySet().stream()
+                .filter(t -> !traducidas.containsKey(hashPorTexto.get(t)))
+                .toList();
+
+        List<CompletableFuture<Map<String, String>>> lotes = new ArrayList<>();
+        for (int i = 0; i < faltantes.size(); i += tamanioLote) {
+            List<String> lote = faltantes.subList(i, Math.min(i + tamanioLote, faltantes.size()));
+            lotes.add(CompletableFuture.supplyAsync(() -> traducirYGuardar(lote, hashPorTexto), ejecutor));
+        }
+
+        return CompletableFuture.allOf(lotes.toArray(CompletableFuture[]::new))
+                .thenApply(nada -> {
+                    lotes.forEach(l -> traducidas.putAll(l.join()));
+                    return textos.stream()
+                            .map(t -> t == null ? null : traducidas.getOrDefault(hashPorTexto.get(t), t))
+                            .toList();
+                });
+    }
+
+    private Map<String, String> traducirYGuardar(List<String> lote, Map<String, String> hashPorTexto) {
+        List<String> traducciones;
+        try {
+            traducciones = traductor.traducir(lote);
+        } catch (RuntimeException e) {
+            log.warn("No fue posible traducir un lote de {} textos: {}", lote.size(), e.getMessage());
+            return Map.of();
+        }
+        Map<String, String> resultado = new HashMap<>();
+        for (int i = 0; i < lote.size(); i++) {
+            String hash = hashPorTexto.get(lote.get(i));
+            resultado.put(hash, traducciones.get(i));
+            guardar(new Traduccion(hash, traducciones.get(i)));
+        }
+        return resultado;
+    }
+
+    // Cada fila en su propia transacción: una llave duplicada solo descarta esa fila
+    private void guardar(Traduccion traduccion) {
+        try {
+            repository.save(traduccion);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("La traducción {} ya fue guardada por otra petición", traduccion.getHash());
+        } catch (RuntimeException e) {
+            log.warn("No fue posible guardar la traducción {}: {}", traduccion.getHash(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        ejecutor.shutdown();
+    }
+
+    static String hash(String texto) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(texto.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.dto.FirmaCatalogoDTO;
+import com.aluracursos.screenmatch.dto.FirmaSerieDTO;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+// ETag de SerieController, calculados a partir de los datos con una consulta de agregación.
+//
+// - Listados (listado paginado, top 5): cantidad de series, id máximo y suma de las versiones
+//   (@Version de Serie). Crear, eliminar o actualizar cualquier serie cambia alguno de los tres.
+// - /series/{id}/temporadas/todas: versión de la serie y cantidad, id máximo y suma de las versiones
+//   de sus episodios.
+//
+// No se guarda nada en memoria: el ETag cambia aunque la escritura la haga otro proceso (la ingesta,
+// la consola, otra instancia) o una migración, siempre que incremente la columna "version".
+// El ETag se lee antes que los datos; si una escritura ocurre entre ambas lecturas, el cliente recibe
+// el ETag anterior y en la siguiente validación obtiene un 200, nunca un 304 con datos viejos.
+@Service
+public class VersionCatalogoService {
+
+    private final SerieRepository repository;
+
+    public VersionCatalogoService(SerieRepository repository) {
+        this.repository = repository;
+    }
+
+    public String etagSeries() {
+        FirmaCatalogoDTO firma = repository.firmaCatalogo();
+        return "\"s-" + firma.series() + "-" + firma.ultimoId() + "-" + firma.sumaVersiones() + "\"";
+    }
+
+    // Vacío si la serie no existe
+    public Optional<String> etagSerie(Long id) {
+        return repository.firmaSerie(id).map(firma -> "\"s" + id + "-" + firma.version() + "-" + firma.episodios()
+                + "-" + firma.ultimoEpisodio() + "-" + firma.sumaVersionesEpisodios() + "\"");
+    }
+}
@@ -0,0 +1,41 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Los episodios guardados cuando el id era IDENTITY no avanzaron episodios_seq. Si el siguiente bloque
+// de la secuencia chocaría con los ids existentes, la secuencia se reinicia justo después del id máximo.
+//
+// Es una migración Java (Flyway la busca en el paquete db.migration) porque PostgreSQL y H2 no comparten
+// una forma de leer o fijar la secuencia en SQL (setval, last_value); nextval y ALTER SEQUENCE ... RESTART
+// sí son comunes, así que las pruebas ejecutan exactamente lo mismo que producción.
+public class V2_1__Alinear_secuencia_episodios extends BaseJavaMigration {
+
+    // Igual que Episodio.TAMANIO_BLOQUE_IDS: Hibernate usa los ids (valor - 49) a valor de cada nextval
+    private static final long TAMANIO_BLOQUE_IDS = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement sentencia = context.getConnection().createStatement()) {
+            long maximo = leer(sentencia, "SELECT COALESCE(MAX(id), 0) FROM episodios");
+            if (maximo == 0) {
+                return;
+            }
+            // Consume un bloque: como mucho quedan 50 ids sin usar
+            long siguiente = leer(sentencia, "SELECT nextval('episodios_seq')");
+            if (siguiente - TAMANIO_BLOQUE_IDS < maximo) {
+                sentencia.execute("ALTER SEQUENCE episodios_seq RESTART WITH " + (maximo + TAMANIO_BLOQUE_IDS));
+            }
+        }
+    }
+
+    private static long leer(Statement sentencia, String sql) throws Exception {
+        try (ResultSet fila = sentencia.executeQuery(sql)) {
+            fila.next();
+            return fila.getLong(1);
+        }
+    }
+}
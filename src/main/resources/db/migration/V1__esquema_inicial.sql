@@ -0,0 +1,49 @@
+-- Esquema del catálogo. Hasta ahora lo creaba Hibernate con ddl-auto=update; desde esta versión lo
+-- administra Flyway. Es idempotente (IF NOT EXISTS) para poder aplicarse también sobre una base
+-- que ya había creado Hibernate.
+
+CREATE TABLE IF NOT EXISTS series (
+    id                       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    titulo                   VARCHAR(255) UNIQUE,
+    total_temporadas         INTEGER,
+    evaluacion               DOUBLE PRECISION,
+    poster                   VARCHAR(255),
+    genero                   VARCHAR(255),
+    generos                  BIGINT,
+    actores                  VARCHAR(255),
+    sinopsis                 VARCHAR(255),
+    fecha_ultimo_lanzamiento DATE,
+    version                  BIGINT DEFAULT 0 NOT NULL
+);
+
+ALTER TABLE series ADD COLUMN IF NOT EXISTS fecha_ultimo_lanzamiento DATE;
+ALTER TABLE series ADD COLUMN IF NOT EXISTS generos BIGINT;
+ALTER TABLE series ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Hibernate crea un CHECK con los valores del enum que ddl-auto=update nunca actualiza: impedía
+-- guardar los géneros agregados después (ANIMACION, TERROR, ...)
+ALTER TABLE series DROP CONSTRAINT IF EXISTS series_genero_check;
+
+CREATE INDEX IF NOT EXISTS idx_series_fecha_ultimo_lanzamiento ON series (fecha_ultimo_lanzamiento);
+CREATE INDEX IF NOT EXISTS idx_series_generos ON series (generos);
+
+CREATE TABLE IF NOT EXISTS episodios (
+    id                   BIGINT PRIMARY KEY,
+    temporada            INTEGER,
+    titulo               VARCHAR(255),
+    numero_episodio      INTEGER,
+    evaluacion           DOUBLE PRECISION,
+    fecha_de_lanzamiento DATE,
+    serie_id             BIGINT REFERENCES series (id),
+    version              BIGINT DEFAULT 0 NOT NULL
+);
+
+ALTER TABLE episodios ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Ids de episodios por bloques de 50 (ver Episodio.TAMANIO_BLOQUE_IDS)
+CREATE SEQUENCE IF NOT EXISTS episodios_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS traducciones (
+    hash       VARCHAR(64) PRIMARY KEY,
+    traduccion TEXT
+);
@@ -0,0 +1,23 @@
+-- Completa los datos derivados de las filas guardadas antes de que existieran las columnas.
+-- Antes lo hacía InicializacionCatalogo en cada arranque; ahora se ejecuta una sola vez.
+-- Cada UPDATE incrementa "version" para que cambie el ETag de las series modificadas.
+
+-- La secuencia de los episodios se alinea después, en V2_1 (db.migration.V2_1__Alinear_secuencia_episodios).
+
+UPDATE series s
+SET fecha_ultimo_lanzamiento = (SELECT MAX(e.fecha_de_lanzamiento) FROM episodios e WHERE e.serie_id = s.id),
+    version = version + 1
+WHERE s.fecha_ultimo_lanzamiento IS NULL;
+
+-- Solo se conoce el género principal: la máscara queda con ese bit (1 << ordinal de CategoriaEnum)
+UPDATE series
+SET generos = CASE genero
+                  WHEN 'ACCION' THEN 1
+                  WHEN 'ROMANCE' THEN 2
+                  WHEN 'COMEDIA' THEN 4
+                  WHEN 'DRAMA' THEN 8
+                  WHEN 'CRIMEN' THEN 16
+                  WHEN 'AVENTURA' THEN 32
+              END,
+    version = version + 1
+WHERE generos IS NULL;
@@ -0,0 +1,6 @@
+-- Índice de cobertura para /series/{id}/temporadas/{temporada}. La consulta filtra por serie y
+-- temporada, ordena por número de episodio y solo lee además el título: PostgreSQL la resuelve con
+-- un index-only scan, sin visitar la tabla ni ordenar. El título va como última columna de la llave
+-- (y no en INCLUDE) para que la misma migración se ejecute también sobre H2 en las pruebas.
+CREATE INDEX IF NOT EXISTS idx_episodios_serie_temporada_numero
+    ON episodios (serie_id, temporada, numero_episodio, titulo);
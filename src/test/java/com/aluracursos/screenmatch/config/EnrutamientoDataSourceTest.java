@@ -0,0 +1,164 @@
+package com.aluracursos.screenmatch.config;
+
+import com.aluracursos.screenmatch.dto.SerieDTO;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import com.aluracursos.screenmatch.service.SerieService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Dos bases H2 en memoria hacen de primaria y de réplica. La "replicación" es manual (Replica.sincronizar):
+// mientras no se sincroniza, la réplica va atrasada y se puede ver a qué pool fue cada consulta.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:escritura;DB_CLOSE_DELAY=-1",
+        "lectura.datasource.url=jdbc:h2:mem:lectura;DB_CLOSE_DELAY=-1",
+        "lectura.ventana-consistencia=300ms",
+        "spring.cache.type=caffeine",
+        "spring.cache.cache-names=top5,lanzamientos,seriesPorGenero,seriePorId"
+})
+class EnrutamientoDataSourceTest {
+
+    @Autowired
+    private SerieRepository repository;
+
+    @Autowired
+    private SerieService service;
+
+    @Autowired
+    private Replica replica;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @TestConfiguration
+    static class ConfiguracionReplica {
+        // Depende de EntityManagerFactory para copiar el esquema después de que Hibernate lo crea en la primaria
+        @Bean
+        Replica replica(@Qualifier("dataSourceEscritura") DataSource escritura,
+                        @Qualifier("dataSourceLectura") DataSource lectura,
+                        EntityManagerFactory entityManagerFactory) {
+            Replica replica = new Replica(new JdbcTemplate(escritura), new JdbcTemplate(lectura));
+            replica.sincronizar();
+            return replica;
+        }
+    }
+
+    // Copia la primaria completa (esquema y datos) sobre la réplica
+    record Replica(JdbcTemplate escritura, JdbcTemplate lectura) {
+        void sincronizar() {
+            lectura.execute("DROP ALL OBJECTS");
+            escritura.queryForList("SCRIPT", String.class).forEach(lectura::execute);
+        }
+    }
+
+    private double conexiones(String destino, String motivo) {
+        return registro.counter("datasource.enrutamiento", "destino", destino, "motivo", motivo).count();
+    }
+
+    private List<String> titulos() {
+        return service.obtenerTodasLasSeries(0L, 100).stream().map(SerieDTO::titulo).toList();
+    }
+
+    private Serie serie(String titulo) {
+        return new Serie(new DatosSerie(titulo, 1, "8.0", "poster", "Drama", "Actor", "Sinopsis"));
+    }
+
+    // Ejecuta "accion" como si fuera una petición HTTP con esa request/response
+    private void enPeticion(MockHttpServletRequest request, MockHttpServletResponse response, Runnable accion) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            accion.run();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void lasLecturasVanALaReplicaSalvoJustoDespuesDeEscribir() throws InterruptedException {
+        repository.save(new Serie(new DatosSerie("Dark", 3, "8.7", "poster", "Drama, Crime",
+                "Louis Hofmann", "Sinopsis")));
+
+        // Recién escrita: la lectura va a la primaria y ve la serie aunque la réplica no la tenga
+        double propias = conexiones("escritura", "lectura-propia");
+        assertThat(titulos()).contains("Dark");
+        assertThat(conexiones("escritura", "lectura-propia")).isGreaterThan(propias);
+
+        // Pasada la ventana la lectura va a la réplica, que todavía no tiene la serie
+        Thread.sleep(400);
+        double lecturas = conexiones("lectura", "solo-lectura");
+        assertThat(titulos()).doesNotContain("Dark");
+        assertThat(conexiones("lectura", "solo-lectura")).isGreaterThan(lecturas);
+
+        // Una vez replicada, la réplica también la devuelve
+        replica.sincronizar();
+        assertThat(titulos()).contains("Dark");
+    }
+
+    @Test
+    void laEscrituraDeOtroHiloNoSacaDeLaReplicaAlResto() throws InterruptedException {
+        Thread.sleep(400); // Deja vencer una escritura previa de este mismo hilo
+
+        // Por ejemplo, una ingesta guardando series en sus propios hilos
+        CompletableFuture.runAsync(() -> repository.save(serie("Ozark"))).join();
+
+        double lecturas = conexiones("lectura", "solo-lectura");
+        assertThat(titulos()).doesNotContain("Ozark");
+        assertThat(conexiones("lectura", "solo-lectura")).isGreaterThan(lecturas);
+        replica.sincronizar();
+    }
+
+    @Test
+    void enHttpLaVentanaEsDelClienteQueEscribio() {
+        MockHttpServletResponse respuestaEscritura = new MockHttpServletResponse();
+        enPeticion(new MockHttpServletRequest(), respuestaEscritura, () -> repository.save(serie("Fargo")));
+
+        Cookie cookie = respuestaEscritura.getCookie(EnrutamientoDataSource.COOKIE_ESCRITURA);
+        assertThat(cookie).isNotNull();
+
+        // Otro cliente (sin la cookie) sigue leyendo de la réplica, que todavía no tiene la serie
+        enPeticion(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                () -> assertThat(titulos()).doesNotContain("Fargo"));
+
+        // El cliente que escribió devuelve la cookie y lee de la primaria
+        MockHttpServletRequest mismoCliente = new MockHttpServletRequest();
+        mismoCliente.setCookies(cookie);
+        enPeticion(mismoCliente, new MockHttpServletResponse(), () -> assertThat(titulos()).contains("Fargo"));
+        replica.sincronizar();
+    }
+
+    @Test
+    void loCacheadoDesdeLaReplicaAtrasadaSeDesalojaAlVencerLaVentana() throws InterruptedException {
+        // Otro cliente escribe: el commit desaloja el top 5, pero la réplica todavía no tiene la serie
+        CompletableFuture.runAsync(() -> repository.save(new Serie(new DatosSerie("Severance", 2, "9.9", "poster",
+                "Drama", "Adam Scott", "Sinopsis")))).join();
+
+        // La siguiente lectura (sin cookie) va a la réplica y deja cacheado el top 5 anterior
+        enPeticion(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                () -> assertThat(service.obtenerTop5Series()).extracting(SerieDTO::titulo).doesNotContain("Severance"));
+
+        // La réplica se pone al día dentro de la ventana; al vencer, el desalojo se repite
+        replica.sincronizar();
+        Thread.sleep(600);
+        enPeticion(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                () -> assertThat(service.obtenerTop5Series()).extracting(SerieDTO::titulo).contains("Severance"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.aluracursos.screenmatch.controller;
+
+import com.aluracursos.screenmatch.dto.ResultadoBusquedaDTO;
+import com.aluracursos.screenmatch.service.IndiceTitulosService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BusquedaController.class)
+class BusquedaControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private IndiceTitulosService service;
+
+    @Test
+    void pasaLaBusquedaAlIndice() throws Exception {
+        when(service.buscar("breking bad", "episodio", 5)).thenReturn(List.of(
+                new ResultadoBusquedaDTO("episodio", 1L, "Breaking Bad", "Pilot", 1, 1, 0.75)));
+
+        mvc.perform(get("/busqueda").param("q", "breking bad").param("tipo", "episodio").param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].serie").value("Breaking Bad"))
+                .andExpect(jsonPath("$[0].titulo").value("Pilot"))
+                .andExpect(jsonPath("$[0].puntaje").value(0.75));
+    }
+
+    @Test
+    void sinTextoResponde400() throws Exception {
+        mvc.perform(get("/busqueda"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).buscar(any(), any(), any());
+    }
+}
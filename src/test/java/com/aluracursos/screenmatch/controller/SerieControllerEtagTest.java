@@ -0,0 +1,83 @@
+package com.aluracursos.screenmatch.controller;
+
+import com.aluracursos.screenmatch.service.ExportacionCatalogoService;
+import com.aluracursos.screenmatch.service.SerieService;
+import com.aluracursos.screenmatch.service.VersionCatalogoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET condicional de SerieController; los ETag a partir de los datos se prueban en VersionCatalogoServiceTest
+@WebMvcTest(SerieController.class)
+class SerieControllerEtagTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private VersionCatalogoService versiones;
+
+    @MockBean
+    private SerieService service;
+
+    @MockBean
+    private ExportacionCatalogoService exportacion;
+
+    @Test
+    void respondeConEtagYCacheControl() throws Exception {
+        when(versiones.etagSeries()).thenReturn("\"s-2-7-3\"");
+        when(service.obtenerTop5Series()).thenReturn(List.of());
+
+        mvc.perform(get("/series/top5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"s-2-7-3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, must-revalidate, public"));
+    }
+
+    @Test
+    void ifNoneMatchVigenteResponde304SinConsultar() throws Exception {
+        when(versiones.etagSeries()).thenReturn("\"s-2-7-3\"");
+        when(versiones.etagSerie(7L)).thenReturn(Optional.of("\"s7-1-10-60-10\""));
+
+        mvc.perform(get("/series").header(HttpHeaders.IF_NONE_MATCH, "\"s-2-7-3\""))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/series/7/temporadas/todas").header(HttpHeaders.IF_NONE_MATCH, "W/\"s7-1-10-60-10\""))
+                .andExpect(status().isNotModified());
+
+        verify(service, never()).obtenerTodasLasSeries(any(), any());
+        verify(service, never()).obtenerTodosLosEpisodios(any());
+    }
+
+    @Test
+    void unEtagAnteriorRecibeLosDatosYElEtagVigente() throws Exception {
+        when(versiones.etagSerie(7L)).thenReturn(Optional.of("\"s7-2-10-60-10\""));
+        when(service.obtenerTodosLosEpisodios(7L)).thenReturn(List.of());
+
+        mvc.perform(get("/series/7/temporadas/todas").header(HttpHeaders.IF_NONE_MATCH, "\"s7-1-10-60-10\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"s7-2-10-60-10\""));
+        verify(service).obtenerTodosLosEpisodios(7L);
+    }
+
+    @Test
+    void unaSerieInexistenteResponde404SinEtag() throws Exception {
+        when(versiones.etagSerie(99L)).thenReturn(Optional.empty());
+
+        mvc.perform(get("/series/99/temporadas/todas"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        verify(service, never()).obtenerTodosLosEpisodios(any());
+    }
+}
@@ -0,0 +1,79 @@
+package com.aluracursos.screenmatch.controller;
+
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /series/batch de punta a punta (controlador, servicio y H2) con un máximo de 3 ids por petición
+@SpringBootTest(properties = "series.lote.maximo=3")
+@AutoConfigureMockMvc
+@Transactional
+class SerieControllerLoteTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SerieRepository repository;
+
+    private long dark;
+    private long lost;
+    private long fargo;
+
+    @BeforeEach
+    void prepararCatalogo() {
+        dark = guardar("Dark");
+        lost = guardar("Lost");
+        fargo = guardar("Fargo");
+    }
+
+    private long guardar(String titulo) {
+        return repository.save(new Serie(new DatosSerie(titulo, 1, "8.0", "poster", "Drama", "Actor", "Sinopsis")))
+                .getId();
+    }
+
+    @Test
+    void getDevuelveLasSeriesEnElOrdenPedido() throws Exception {
+        mvc.perform(get("/series/batch").param("ids", fargo + "," + dark + "," + lost))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.series[*].titulo").value(contains("Fargo", "Dark", "Lost")))
+                .andExpect(jsonPath("$.noEncontradas").value(empty()));
+    }
+
+    @Test
+    void postConservaElOrdenDelCuerpoEInformaLosIdsInexistentes() throws Exception {
+        mvc.perform(post("/series/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + lost + ", 999999, " + dark + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.series[*].titulo").value(contains("Lost", "Dark")))
+                .andExpect(jsonPath("$.noEncontradas").value(contains(999999)));
+    }
+
+    @Test
+    void masIdsQueElMaximoResponde400() throws Exception {
+        mvc.perform(get("/series/batch").param("ids", dark + "," + lost + "," + fargo + ",999999"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Se pidieron 4 series; el máximo por petición es 3"));
+
+        mvc.perform(post("/series/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2, 3, 4]"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,63 @@
+package com.aluracursos.screenmatch.controller;
+
+import com.aluracursos.screenmatch.service.ExportacionCatalogoService;
+import com.aluracursos.screenmatch.service.SerieService;
+import com.aluracursos.screenmatch.service.VersionCatalogoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Los parámetros inválidos responden 400 con el motivo, no 500
+@WebMvcTest(SerieController.class)
+class SerieControllerValidacionTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private SerieService service;
+
+    @MockBean
+    private ExportacionCatalogoService exportacion;
+
+    @MockBean
+    private VersionCatalogoService versiones;
+
+    @Test
+    void modoDesconocidoResponde400() throws Exception {
+        mvc.perform(get("/series/categoria/drama").param("modo", "casi"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Modo no válido: casi (use todos o alguno)"));
+
+        verify(service, never()).obtenerSeriesPorGeneros(anyString(), anyBoolean());
+    }
+
+    @Test
+    void generoDesconocidoResponde400() throws Exception {
+        when(service.obtenerSeriesPorGeneros("drama,marciano", true))
+                .thenThrow(new IllegalArgumentException("Ninguna categoria encontrada: marciano"));
+
+        mvc.perform(get("/series/categoria/drama,marciano"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Ninguna categoria encontrada: marciano"));
+    }
+
+    @Test
+    void generosValidosResponden200() throws Exception {
+        when(service.obtenerSeriesPorGeneros("drama", false)).thenReturn(List.of());
+
+        mvc.perform(get("/series/categoria/drama").param("modo", "alguno"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,45 @@
+package com.aluracursos.screenmatch.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CategoriaEnumTest {
+
+    @Test
+    void buscaPorCadaOrigenSinImportarMayusculasNiTildes() {
+        assertThat(CategoriaEnum.fromString("sci-fi")).isEqualTo(CategoriaEnum.CIENCIA_FICCION);
+        assertThat(CategoriaEnum.fromInput("ACCION")).isEqualTo(CategoriaEnum.ACCION);
+        assertThat(CategoriaEnum.fromFront("acción")).isEqualTo(CategoriaEnum.ACCION);
+        assertThat(CategoriaEnum.fromFront("acc%C3%B3n")).isEqualTo(CategoriaEnum.ACCION);
+        assertThatThrownBy(() -> CategoriaEnum.fromString("Telenovela"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void laListaDeOmdbConservaElOrdenEIgnoraDesconocidos() {
+        assertThat(CategoriaEnum.listaDesdeOmdb("Animation, Telenovela, Comedy, Animation"))
+                .containsExactly(CategoriaEnum.ANIMACION, CategoriaEnum.COMEDIA);
+    }
+
+    @Test
+    void laMascaraSeConvierteEnLosMismosGeneros() {
+        var generos = EnumSet.of(CategoriaEnum.DRAMA, CategoriaEnum.CRIMEN, CategoriaEnum.CINE_NEGRO);
+
+        assertThat(CategoriaEnum.deMascara(CategoriaEnum.mascara(generos))).isEqualTo(generos);
+        assertThat(CategoriaEnum.deMascara(null)).isEmpty();
+    }
+
+    @Test
+    void serieGuardaTodosLosGenerosYElPrincipal() {
+        Serie serie = new Serie(new DatosSerie("Serie", 1, "8.0", "poster", "Crime, Drama, Mystery", "Actor", "Sinopsis"));
+
+        assertThat(serie.getGenero()).isEqualTo(CategoriaEnum.CRIMEN);
+        assertThat(serie.getGeneros()).containsExactlyInAnyOrderElementsOf(
+                List.of(CategoriaEnum.CRIMEN, CategoriaEnum.DRAMA, CategoriaEnum.MISTERIO));
+    }
+}
@@ -0,0 +1,57 @@
+package com.aluracursos.screenmatch.repository;
+
+import com.aluracursos.screenmatch.model.DatosEpisodio;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Los episodios de una serie se insertan por lotes de JDBC (hibernate.jdbc.batch_size, como en
+// application.properties) y sus ids salen de episodios_seq de a Episodio.TAMANIO_BLOQUE_IDS.
+// Si Episodio vuelve a usar IDENTITY, Hibernate desactiva el batching y el conteo se dispara.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=" + InsercionPorLotesTest.LOTE,
+        "spring.jpa.properties.hibernate.order_inserts=true"})
+class InsercionPorLotesTest {
+
+    static final int LOTE = 50;
+    private static final int EPISODIOS = 120;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void losEpisodiosSeInsertanPorLotes() {
+        Serie serie = new Serie(new DatosSerie("Serie larga", 6, "8.0", "poster", "Drama", "Actor", "Sinopsis"));
+        List<Episodio> episodios = new ArrayList<>();
+        for (int e = 1; e <= EPISODIOS; e++) {
+            episodios.add(new Episodio(1 + e / 20, new DatosEpisodio("Episodio " + e, e, "7.5", "2020-01-01")));
+        }
+        serie.setEpisodioList(episodios);
+
+        Statistics estadisticas = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        em.persist(serie);
+        em.flush();
+
+        int lotes = (EPISODIOS + LOTE - 1) / LOTE;
+        // El optimizador pooled pide un nextval de más al empezar
+        int bloquesDeIds = (EPISODIOS + Episodio.TAMANIO_BLOQUE_IDS - 1) / Episodio.TAMANIO_BLOQUE_IDS + 1;
+        assertThat(estadisticas.getEntityInsertCount()).isEqualTo(EPISODIOS + 1);
+        // 1 INSERT de la serie (IDENTITY, sin lote) + los nextval + los lotes de episodios; sin batching serían 125
+        assertThat(estadisticas.getPrepareStatementCount()).isLessThanOrEqualTo(1 + bloquesDeIds + lotes);
+    }
+}
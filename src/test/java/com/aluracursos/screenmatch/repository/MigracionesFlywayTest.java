@@ -0,0 +1,83 @@
+package com.aluracursos.screenmatch.repository;
+
+import com.aluracursos.screenmatch.model.DatosEpisodio;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Todas las migraciones de Flyway sobre H2 en modo PostgreSQL:
+// - El esquema resultante coincide con las entidades (ddl-auto=validate, como en producción).
+// - Sobre una base con datos anteriores, V2 y V2_1 completan los datos derivados y alinean episodios_seq.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migraciones" + MigracionesFlywayTest.MODO_POSTGRESQL,
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MigracionesFlywayTest {
+
+    static final String MODO_POSTGRESQL = ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final String ULTIMA_VERSION = "3";
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private SerieRepository repository;
+
+    @Test
+    void lasEntidadesValidanContraElEsquemaMigrado() {
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo(ULTIMA_VERSION);
+
+        // Con el esquema de Flyway: id IDENTITY en series y episodios_seq por bloques en episodios
+        Serie serie = new Serie(new DatosSerie("Dark", 3, "8.7", "poster", "Drama, Crime", "Louis Hofmann", "Sinopsis"));
+        serie.setEpisodioList(new ArrayList<>(List.of(
+                new Episodio(1, new DatosEpisodio("Secretos", 1, "8.2", "2017-12-01")),
+                new Episodio(1, new DatosEpisodio("Mentiras", 2, "8.0", "2017-12-01")))));
+        Long id = repository.saveAndFlush(serie).getId();
+
+        assertThat(repository.findById(id)).get()
+                .extracting(s -> s.getEpisodioList().size())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void completaLosDatosDeUnaBaseAnterior() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:anterior" + MODO_POSTGRESQL, "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // Base tal como quedó antes de V2: columnas derivadas vacías y episodios con ids de cuando eran IDENTITY
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        jdbc.update("INSERT INTO series (id, titulo, genero) VALUES (1, 'Dark', 'DRAMA'), (2, 'Fargo', 'CRIMEN')");
+        for (long id = 1; id <= 120; id++) {
+            jdbc.update("INSERT INTO episodios (id, serie_id, temporada, numero_episodio, fecha_de_lanzamiento) VALUES (?, ?, 1, ?, ?)",
+                    id, id <= 60 ? 1 : 2, id, LocalDate.of(2017, 1, 1).plusDays(id));
+        }
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        Map<String, Object> dark = jdbc.queryForMap("SELECT generos, fecha_ultimo_lanzamiento, version FROM series WHERE id = 1");
+        assertThat(dark.get("generos")).isEqualTo(8L);
+        assertThat(dark.get("fecha_ultimo_lanzamiento").toString()).isEqualTo(LocalDate.of(2017, 1, 1).plusDays(60).toString());
+        assertThat(dark.get("version")).isEqualTo(2L); // Cada UPDATE de V2 la incrementa: cambia el ETag
+        assertThat(jdbc.queryForObject("SELECT generos FROM series WHERE id = 2", Long.class)).isEqualTo(16L);
+
+        // El siguiente bloque de ids (valor - 49 .. valor) empieza justo después del id máximo
+        assertThat(jdbc.queryForObject("SELECT nextval('episodios_seq')", Long.class)).isEqualTo(170L);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.indexes " +
+                "WHERE index_name = 'idx_episodios_serie_temporada_numero'", Long.class)).isPositive();
+    }
+}
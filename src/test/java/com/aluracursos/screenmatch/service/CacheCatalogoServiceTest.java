@@ -0,0 +1,135 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.config.CacheConfiguration;
+import com.aluracursos.screenmatch.model.DatosEpisodio;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Invalidación de las cachés del catálogo al guardar una Serie o un Episodio.
+// Sin la transacción envolvente de @DataJpaTest: la invalidación ocurre al confirmar.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheCatalogoService.class, CacheCatalogoServiceTest.Caches.class})
+class CacheCatalogoServiceTest {
+
+    // @DataJpaTest desactiva la caché; basta un CacheManager en memoria con las cachés del catálogo
+    @TestConfiguration
+    static class Caches {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfiguration.TOP5, CacheConfiguration.LANZAMIENTOS,
+                    CacheConfiguration.SERIES_POR_GENERO, CacheConfiguration.SERIE_POR_ID);
+        }
+    }
+
+    @Autowired
+    private SerieRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long modificada;
+    private Long otra;
+
+    @BeforeEach
+    void prepararCaches() {
+        modificada = repository.save(serie("Dark")).getId();
+        otra = repository.save(serie("Lost")).getId();
+
+        cacheManager.getCache(CacheConfiguration.TOP5).put(SimpleKey.EMPTY, "top5");
+        cacheManager.getCache(CacheConfiguration.LANZAMIENTOS).put(SimpleKey.EMPTY, "lanzamientos");
+        cacheManager.getCache(CacheConfiguration.SERIES_POR_GENERO).put("DRAMA", "drama");
+        cacheManager.getCache(CacheConfiguration.SERIE_POR_ID).put(modificada, "Dark");
+        cacheManager.getCache(CacheConfiguration.SERIE_POR_ID).put(otra, "Lost");
+    }
+
+    @AfterEach
+    void limpiar() {
+        repository.deleteAll();
+    }
+
+    private static Serie serie(String titulo) {
+        Serie serie = new Serie(new DatosSerie(titulo, 1, "8.0", "poster", "Drama", "Actor", "Sinopsis"));
+        List<Episodio> episodios = new ArrayList<>();
+        episodios.add(new Episodio(1, new DatosEpisodio("Piloto", 1, "7.5", "2020-01-01")));
+        serie.setEpisodioList(episodios);
+        return serie;
+    }
+
+    private boolean contiene(String cache, Object llave) {
+        return cacheManager.getCache(cache).get(llave) != null;
+    }
+
+    @Test
+    void guardarUnaSerieDesalojaSoloLoAfectadoYDespuesDelCommit() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            Serie serie = repository.findById(modificada).orElseThrow();
+            serie.setTitulo("Dark (2017)");
+            repository.saveAndFlush(serie);
+
+            // El UPDATE ya se envió, pero hasta el commit otra lectura vería el valor anterior en la BD
+            assertThat(contiene(CacheConfiguration.SERIE_POR_ID, modificada)).isTrue();
+            assertThat(contiene(CacheConfiguration.TOP5, SimpleKey.EMPTY)).isTrue();
+            assertThat(contiene(CacheConfiguration.SERIES_POR_GENERO, "DRAMA")).isTrue();
+        });
+
+        assertThat(contiene(CacheConfiguration.SERIE_POR_ID, modificada)).isFalse();
+        assertThat(contiene(CacheConfiguration.SERIE_POR_ID, otra)).isTrue();
+        assertThat(contiene(CacheConfiguration.TOP5, SimpleKey.EMPTY)).isFalse();
+        assertThat(contiene(CacheConfiguration.LANZAMIENTOS, SimpleKey.EMPTY)).isFalse();
+        assertThat(contiene(CacheConfiguration.SERIES_POR_GENERO, "DRAMA")).isFalse();
+    }
+
+    @Test
+    void unaTransaccionRevertidaNoDesalojaNada() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            Serie serie = repository.findById(modificada).orElseThrow();
+            serie.setTitulo("Dark (2017)");
+            repository.saveAndFlush(serie);
+            estado.setRollbackOnly();
+        });
+
+        assertThat(contiene(CacheConfiguration.SERIE_POR_ID, modificada)).isTrue();
+        assertThat(contiene(CacheConfiguration.TOP5, SimpleKey.EMPTY)).isTrue();
+        assertThat(contiene(CacheConfiguration.SERIES_POR_GENERO, "DRAMA")).isTrue();
+    }
+
+    @Test
+    void guardarUnEpisodioSoloDesalojaLosLanzamientos() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            Serie serie = repository.findById(modificada).orElseThrow();
+            serie.getEpisodioList().get(0).setTitulo("Secretos");
+            repository.saveAndFlush(serie);
+        });
+
+        assertThat(contiene(CacheConfiguration.LANZAMIENTOS, SimpleKey.EMPTY)).isFalse();
+        assertThat(contiene(CacheConfiguration.SERIE_POR_ID, modificada)).isTrue();
+        assertThat(contiene(CacheConfiguration.TOP5, SimpleKey.EMPTY)).isTrue();
+        assertThat(contiene(CacheConfiguration.SERIES_POR_GENERO, "DRAMA")).isTrue();
+    }
+}
@@ -0,0 +1,108 @@
+package com.aluracursos.screenmatch.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Caché de respuestas OMDb en un directorio temporal
+class CacheRespuestasDiscoTest {
+
+    private static final String DARK = "https://www.omdbapi.com/?t=Dark&apikey=uno";
+    private static final String LOST = "https://www.omdbapi.com/?t=Lost&apikey=uno";
+    private static final String FARGO = "https://www.omdbapi.com/?t=Fargo&apikey=uno";
+
+    @TempDir
+    Path directorio;
+
+    // Bytes aleatorios: GZIP no los comprime, así cada entrada ocupa algo más de "tamanio" en disco
+    private static byte[] datos(int semilla, int tamanio) {
+        byte[] datos = new byte[tamanio];
+        new Random(semilla).nextBytes(datos);
+        return datos;
+    }
+
+    private Path archivo(String url) {
+        return directorio.resolve(CacheRespuestasDisco.llave(url) + ".gz");
+    }
+
+    @Test
+    void devuelveLoGuardadoHastaQueVenceElTtl() throws Exception {
+        CacheRespuestasDisco cache = new CacheRespuestasDisco(directorio, 1_000_000, Duration.ofHours(1));
+        cache.guardar(DARK, datos(1, 100));
+        cache.guardar(LOST, datos(2, 100), Duration.ofMillis(1));
+        Thread.sleep(20);
+
+        assertThat(cache.obtener(DARK)).hasValue(datos(1, 100));
+        assertThat(cache.obtener(LOST)).isEmpty();
+        assertThat(archivo(LOST)).doesNotExist(); // La entrada vencida se borra al leerla
+        assertThat(cache.entradas()).isEqualTo(1);
+    }
+
+    @Test
+    void alSuperarElTamanioDesalojaLaMenosUsada() {
+        CacheRespuestasDisco cache = new CacheRespuestasDisco(directorio, 2_500, Duration.ofHours(1));
+        cache.guardar(DARK, datos(1, 1_000));
+        cache.guardar(LOST, datos(2, 1_000));
+        cache.obtener(DARK); // LOST pasa a ser la menos usada
+
+        cache.guardar(FARGO, datos(3, 1_000));
+
+        assertThat(cache.obtener(LOST)).isEmpty();
+        assertThat(archivo(LOST)).doesNotExist();
+        assertThat(cache.obtener(DARK)).isPresent();
+        assertThat(cache.obtener(FARGO)).isPresent();
+        assertThat(cache.tamanioEnBytes()).isLessThanOrEqualTo(2_500);
+    }
+
+    @Test
+    void alReiniciarReconstruyeElIndiceDesdeLosArchivos() throws Exception {
+        CacheRespuestasDisco antes = new CacheRespuestasDisco(directorio, 1_000_000, Duration.ofHours(1));
+        antes.guardar(DARK, datos(1, 1_000));
+        antes.guardar(LOST, datos(2, 1_000));
+        antes.guardar(FARGO, datos(3, 1_000), Duration.ofMillis(1));
+        Files.writeString(directorio.resolve("interrumpida.tmp"), "resto de una escritura");
+        // DARK se usó antes que LOST
+        Files.setLastModifiedTime(archivo(DARK), FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        Files.setLastModifiedTime(archivo(LOST), FileTime.fromMillis(System.currentTimeMillis() - 30_000));
+        Thread.sleep(20);
+
+        CacheRespuestasDisco despues = new CacheRespuestasDisco(directorio, 1_000_000, Duration.ofHours(1));
+
+        assertThat(despues.entradas()).isEqualTo(2);
+        assertThat(despues.tamanioEnBytes()).isEqualTo(Files.size(archivo(DARK)) + Files.size(archivo(LOST)));
+        assertThat(archivo(FARGO)).doesNotExist();
+        assertThat(directorio.resolve("interrumpida.tmp")).doesNotExist();
+        assertThat(despues.obtener(LOST)).hasValue(datos(2, 1_000));
+
+        // Con espacio para una sola entrada, se desaloja la de uso más antiguo según la fecha del archivo
+        CacheRespuestasDisco pequenia = new CacheRespuestasDisco(directorio, 1_500, Duration.ofHours(1));
+
+        assertThat(pequenia.entradas()).isEqualTo(1);
+        assertThat(pequenia.obtener(DARK)).isEmpty();
+        assertThat(pequenia.obtener(LOST)).isPresent();
+    }
+
+    @Test
+    void laLlaveNoDependeDeLaApikeyNiDelOrdenDeLosParametros() {
+        CacheRespuestasDisco cache = new CacheRespuestasDisco(directorio, 1_000_000, Duration.ofHours(1));
+        cache.guardar("https://www.omdbapi.com/?t=Dark&season=1&apikey=uno", datos(1, 100));
+
+        assertThat(cache.obtener("https://WWW.omdbapi.com/?apikey=dos&Season=1&T=Dark")).hasValue(datos(1, 100));
+        assertThat(CacheRespuestasDisco.normalizar("https://www.omdbapi.com/?t=Dark&apikey=secreta"))
+                .isEqualTo("https://www.omdbapi.com/?t=Dark")
+                .doesNotContain("secreta");
+    }
+
+    @Test
+    void losValoresDeLosParametrosConservanMayusculas() {
+        assertThat(CacheRespuestasDisco.llave("https://www.omdbapi.com/?t=It&apikey=uno"))
+                .isNotEqualTo(CacheRespuestasDisco.llave("https://www.omdbapi.com/?t=it&apikey=uno"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.model.DatosEpisodio;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// La caché de segundo nivel solo entrega entidades a transacciones que empezaron después de guardarlas,
+// por eso aquí cada llamada tiene su propia transacción (sin la transacción envolvente de @DataJpaTest)
+// y los datos se confirman de verdad.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SerieService.class, IndiceGenerosService.class})
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private SerieRepository repository;
+
+    @Autowired
+    private SerieService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+    private Long idSerie;
+
+    @BeforeEach
+    void prepararCatalogo() {
+        for (int s = 1; s <= 3; s++) {
+            Serie serie = new Serie(new DatosSerie("Serie " + s, 1, "8." + s, "poster", "Drama",
+                    "Actor", "Sinopsis"));
+            List<Episodio> episodios = new ArrayList<>();
+            for (int e = 1; e <= 4; e++) {
+                episodios.add(new Episodio(1, new DatosEpisodio("Episodio " + e, e, "7.5", "2020-01-0" + e)));
+            }
+            serie.setEpisodioList(episodios);
+            idSerie = repository.save(serie).getId();
+        }
+        entityManagerFactory.getCache().evictAll(); // Cada prueba empieza con la caché fría
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void limpiar() {
+        repository.deleteAll();
+    }
+
+    private long sentenciasEmitidas(Runnable consulta) {
+        estadisticas.clear();
+        consulta.run();
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    @Test
+    void seriePorIdSeLeeUnaSolaVez() {
+        assertThat(sentenciasEmitidas(() -> service.SeriePorId(idSerie))).isEqualTo(1);
+        assertThat(sentenciasEmitidas(() -> service.SeriePorId(idSerie))).isZero();
+        assertThat(estadisticas.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void losEpisodiosDeUnaSerieSalenDeLaCache() {
+        assertThat(sentenciasEmitidas(() -> service.obtenerTodosLosEpisodios(idSerie))).isEqualTo(1);
+        assertThat(sentenciasEmitidas(() -> assertThat(service.obtenerTodosLosEpisodios(idSerie)).hasSize(4)))
+                .isZero();
+    }
+
+    @Test
+    void elTop5SeCacheaHastaQueCambiaUnaSerie() {
+        assertThat(sentenciasEmitidas(service::obtenerTop5Series)).isEqualTo(1);
+        assertThat(sentenciasEmitidas(service::obtenerTop5Series)).isZero();
+        assertThat(estadisticas.getQueryCacheHitCount()).isEqualTo(1);
+
+        repository.save(new Serie(new DatosSerie("Nueva", 1, "9.9", "poster", "Drama", "Actor", "Sinopsis")));
+
+        assertThat(sentenciasEmitidas(() -> assertThat(service.obtenerTop5Series().get(0).titulo()).isEqualTo("Nueva")))
+                .isEqualTo(1);
+    }
+}
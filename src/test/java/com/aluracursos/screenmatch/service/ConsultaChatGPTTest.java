@@ -0,0 +1,39 @@
+package com.aluracursos.screenmatch.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Tamaño de los lotes enviados a OpenAI: prompt y respuesta deben caber en el contexto del modelo
+class ConsultaChatGPTTest {
+
+    @Test
+    void unLoteCortoSeEnviaCompleto() {
+        List<String> textos = Collections.nCopies(10, "A short synopsis about a chemistry teacher.");
+
+        assertThat(ConsultaChatGPT.dividirLote(textos)).hasSize(1);
+    }
+
+    @Test
+    void unLoteLargoSeDivideSinPerderElOrden() {
+        List<String> textos = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            textos.add(i + " " + "x".repeat(1_500)); // ~500 tokens cada uno: 10 no caben junto con su traducción
+        }
+
+        List<List<String>> lotes = ConsultaChatGPT.dividirLote(textos);
+
+        assertThat(lotes).hasSizeGreaterThan(1);
+        assertThat(lotes.stream().flatMap(List::stream).toList()).containsExactlyElementsOf(textos);
+        for (List<String> lote : lotes) {
+            String prompt = ITraductor.promptLote(lote);
+            int maximo = ConsultaChatGPT.maximoTokens(prompt);
+            assertThat(ConsultaChatGPT.estimarTokens(prompt)).isLessThanOrEqualTo(maximo);
+            assertThat(ConsultaChatGPT.estimarTokens(prompt) + maximo).isLessThanOrEqualTo(ConsultaChatGPT.CONTEXTO_MODELO);
+        }
+    }
+}
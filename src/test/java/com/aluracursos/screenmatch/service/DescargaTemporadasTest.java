@@ -0,0 +1,108 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.model.DatosTemporadas;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Prueba DescargaTemporadas contra un servidor OMDb falso local que tarda LATENCIA_MS por respuesta.
+// El servidor cuenta las solicitudes en curso para comprobar la concurrencia sin medir tiempos.
+class DescargaTemporadasTest {
+
+    private static final int TEMPORADAS = 8;
+    private static final int TEMPORADA_CON_ERROR = 5;
+    private static final long LATENCIA_MS = 200;
+
+    private HttpServer servidor;
+    private ExecutorService hilosServidor;
+    private String urlBase;
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicInteger maximoEnCurso = new AtomicInteger();
+
+    @BeforeEach
+    void iniciarServidor() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        hilosServidor = Executors.newFixedThreadPool(TEMPORADAS);
+        servidor.setExecutor(hilosServidor);
+        servidor.createContext("/", intercambio -> {
+            String consulta = intercambio.getRequestURI().getQuery();
+            int temporada = Integer.parseInt(consulta.replaceAll(".*season=(\\d+).*", "$1"));
+            maximoEnCurso.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(LATENCIA_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                enCurso.decrementAndGet();
+            }
+            String json = temporada == TEMPORADA_CON_ERROR
+                    ? "respuesta corrupta"
+                    : """
+                      {"Season":"%d","Episodes":[{"Title":"Episodio %d","Episode":"1","imdbRating":"8.1","Released":"2020-01-01"}]}
+                      """.formatted(temporada, temporada);
+            byte[] cuerpo = json.getBytes(StandardCharsets.UTF_8);
+            intercambio.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        });
+        servidor.start();
+        urlBase = "http://127.0.0.1:" + servidor.getAddress().getPort() + "/?t=serie";
+    }
+
+    @AfterEach
+    void detenerServidor() {
+        servidor.stop(0);
+        hilosServidor.shutdownNow();
+    }
+
+    private DescargaTemporadas.Resultado descargarCon(int concurrencia) {
+        var descarga = new DescargaTemporadas(new ConsumoAPI(), new ConvierteDatos(), concurrencia);
+        return descarga.descargar(TEMPORADAS, i -> urlBase + "&season=" + i);
+    }
+
+    @Test
+    void conservaElOrdenYLasTemporadasQueSiSeDescargaron() {
+        var resultado = descargarCon(4);
+
+        assertThat(resultado.fallidas()).containsExactly(TEMPORADA_CON_ERROR);
+        assertThat(resultado.temporadas())
+                .extracting(DatosTemporadas::numero)
+                .containsExactly(1, 2, 3, 4, 6, 7, 8);
+    }
+
+    @Test
+    void registraUnaSolicitudPorTemporadaEnLasMetricas() {
+        var registro = new SimpleMeterRegistry();
+        var consumoApi = new ConsumoAPI(Duration.ofSeconds(5), Duration.ofSeconds(10), 0, Duration.ZERO, null, registro);
+
+        new DescargaTemporadas(consumoApi, new ConvierteDatos(), 4).descargar(TEMPORADAS, i -> urlBase + "&season=" + i);
+
+        assertThat(registro.get("omdb.solicitudes").tag("estado", "200").timer().count()).isEqualTo(TEMPORADAS);
+        assertThat(consumoApi.obtenerMetricas().solicitudes()).isEqualTo(TEMPORADAS);
+        assertThat(consumoApi.obtenerMetricas().fallidas()).isZero(); // La temporada corrupta llega con HTTP 200
+    }
+
+    @Test
+    void descargaEnParaleloSinSuperarLaConcurrencia() {
+        descargarCon(1);
+        assertThat(maximoEnCurso.get()).isEqualTo(1);
+
+        maximoEnCurso.set(0);
+        descargarCon(4);
+        assertThat(maximoEnCurso.get()).isBetween(2, 4);
+    }
+}
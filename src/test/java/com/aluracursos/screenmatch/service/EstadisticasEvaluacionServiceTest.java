@@ -0,0 +1,141 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.dto.EstadisticasEvaluacionDTO;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent.TipoCambio;
+import com.aluracursos.screenmatch.model.DatosEpisodio;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(EstadisticasEvaluacionService.class)
+class EstadisticasEvaluacionServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EstadisticasEvaluacionService service;
+
+    private Serie irregular;
+    private Serie pareja;
+
+    @BeforeEach
+    void prepararCatalogo() {
+        // Temporada 1: 7.0, 8.0, 9.0 | Temporada 2: 9.5, 9.5 y un episodio sin evaluación
+        irregular = guardar("Irregular", new String[][]{{"7.0", "8.0", "9.0"}, {"9.5", "9.5", "N/A"}});
+        // Seis episodios de 8.0
+        pareja = guardar("Pareja", new String[][]{{"8.0", "8.0", "8.0"}, {"8.0", "8.0", "8.0"}});
+        em.flush();
+        service.construir(); // En la aplicación se construye con ApplicationReadyEvent
+    }
+
+    private Serie guardar(String titulo, String[][] evaluaciones) {
+        Serie serie = new Serie(new DatosSerie(titulo, evaluaciones.length, "8.0", "poster", "Drama",
+                "Actor", "Sinopsis"));
+        List<Episodio> episodios = new ArrayList<>();
+        for (int t = 0; t < evaluaciones.length; t++) {
+            for (int e = 0; e < evaluaciones[t].length; e++) {
+                episodios.add(new Episodio(t + 1, new DatosEpisodio("Episodio " + (t + 1) + "x" + (e + 1), e + 1,
+                        evaluaciones[t][e], "2020-01-01")));
+            }
+        }
+        serie.setEpisodioList(episodios);
+        em.persist(serie);
+        return serie;
+    }
+
+    @Test
+    void resumeLaSerieSinContarEpisodiosSinEvaluacion() {
+        EstadisticasEvaluacionDTO serie = service.deSerie(irregular.getId());
+
+        assertThat(serie.serie()).isEqualTo("Irregular");
+        assertThat(serie.temporada()).isNull();
+        assertThat(serie.episodios()).isEqualTo(5);
+        assertThat(serie.promedio()).isEqualTo(8.6);
+        assertThat(serie.minima()).isEqualTo(7.0);
+        assertThat(serie.maxima()).isEqualTo(9.5);
+        assertThat(serie.histograma()).containsExactly(0, 0, 0, 0, 0, 0, 0, 1, 1, 3);
+    }
+
+    @Test
+    void ordenaLasTemporadasPorPromedio() {
+        List<EstadisticasEvaluacionDTO> mejores = service.mejoresTemporadas(irregular.getId(), null);
+
+        assertThat(mejores).extracting(EstadisticasEvaluacionDTO::temporada).containsExactly(2, 1);
+        assertThat(mejores.get(0).promedio()).isEqualTo(9.5);
+        assertThat(mejores.get(1).promedio()).isEqualTo(8.0);
+        assertThat(service.deTemporadas(irregular.getId()))
+                .extracting(EstadisticasEvaluacionDTO::temporada).containsExactly(1, 2);
+    }
+
+    @Test
+    void laSerieMasConsistenteEsLaDeMenorDesviacion() {
+        List<EstadisticasEvaluacionDTO> consistentes = service.seriesMasConsistentes(null, 5);
+
+        assertThat(consistentes).extracting(EstadisticasEvaluacionDTO::serie).containsExactly("Pareja", "Irregular");
+        assertThat(consistentes.get(0).desviacion()).isEqualTo(0.0);
+        assertThat(service.seriesMasConsistentes(null, 6)).hasSize(1);
+    }
+
+    @Test
+    void elRankingSeReordenaAlCambiarUnEpisodio() {
+        // Un 2.0 en "Pareja" la vuelve mucho más irregular que "Irregular"
+        Episodio episodio = pareja.getEpisodioList().get(0);
+        episodio.setEvaluacion(2.0);
+        service.alCambiarCatalogo(new CambioCatalogoEvent(pareja, episodio, TipoCambio.ACTUALIZADO));
+
+        assertThat(service.seriesMasConsistentes(null, 5)).extracting(EstadisticasEvaluacionDTO::serie)
+                .containsExactly("Irregular", "Pareja");
+        assertThat(service.seriesMasConsistentes(1, 5)).extracting(EstadisticasEvaluacionDTO::serie)
+                .containsExactly("Irregular");
+
+        // Al quitarlo, "Pareja" vuelve a tener desviación 0 y al primer lugar
+        service.alCambiarCatalogo(new CambioCatalogoEvent(pareja, episodio, TipoCambio.ELIMINADO));
+
+        assertThat(service.seriesMasConsistentes(null, 5)).extracting(EstadisticasEvaluacionDTO::serie)
+                .containsExactly("Pareja", "Irregular");
+    }
+
+    @Test
+    void seActualizaConCadaEpisodioGuardado() {
+        // Un episodio cambia de 7.0 a 10.0: la mínima de la temporada pasa a 8.0
+        Episodio peor = irregular.getEpisodioList().get(0);
+        peor.setEvaluacion(10.0);
+        service.alCambiarCatalogo(new CambioCatalogoEvent(irregular, peor, TipoCambio.ACTUALIZADO));
+
+        // Un episodio nuevo en una temporada nueva
+        Episodio nuevo = new Episodio(3, new DatosEpisodio("Episodio 3x1", 1, "6.0", "2021-01-01"));
+        nuevo.setSerie(irregular);
+        em.persist(nuevo);
+        service.alCambiarCatalogo(new CambioCatalogoEvent(irregular, nuevo, TipoCambio.CREADO));
+
+        EstadisticasEvaluacionDTO primera = service.deTemporadas(irregular.getId()).get(0);
+        assertThat(primera.minima()).isEqualTo(8.0);
+        assertThat(primera.maxima()).isEqualTo(10.0);
+        assertThat(primera.promedio()).isEqualTo(9.0);
+
+        EstadisticasEvaluacionDTO serie = service.deSerie(irregular.getId());
+        assertThat(serie.episodios()).isEqualTo(6);
+        assertThat(serie.minima()).isEqualTo(6.0);
+        assertThat(service.deTemporadas(irregular.getId())).hasSize(3);
+
+        // Al eliminar la serie desaparecen sus estadísticas
+        service.alCambiarCatalogo(new CambioCatalogoEvent(pareja, null, TipoCambio.ELIMINADO));
+        assertThat(service.deSerie(pareja.getId())).isNull();
+        assertThat(service.seriesMasConsistentes(null, 1)).extracting(EstadisticasEvaluacionDTO::serie)
+                .containsExactly("Irregular");
+    }
+}
@@ -0,0 +1,69 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.dto.SerieExportadaDTO;
+import com.aluracursos.screenmatch.model.DatosEpisodio;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ExportacionCatalogoServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private SerieRepository repository;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private void guardarSerie(String titulo, int temporadas, int episodiosPorTemporada) {
+        Serie serie = new Serie(new DatosSerie(titulo, temporadas, "8.0", "poster", "Drama", "Actor", "Sinopsis"));
+        List<Episodio> episodios = new ArrayList<>();
+        // Se guardan en orden inverso para comprobar que la exportación los ordena
+        for (int t = temporadas; t >= 1; t--) {
+            for (int e = episodiosPorTemporada; e >= 1; e--) {
+                episodios.add(new Episodio(t, new DatosEpisodio(titulo + " " + t + "x" + e, e, "7.0", "2020-01-01")));
+            }
+        }
+        serie.setEpisodioList(episodios);
+        em.persist(serie);
+    }
+
+    @Test
+    void escribeUnaLineaPorSerieConSusEpisodiosEnOrden() throws Exception {
+        guardarSerie("Primera", 2, 3);
+        guardarSerie("Sin episodios", 0, 0);
+        guardarSerie("Tercera", 1, 2);
+        em.flush();
+        em.clear();
+
+        var salida = new ByteArrayOutputStream();
+        long series = new ExportacionCatalogoService(repository, mapper).exportar(salida);
+
+        List<String> lineas = salida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(series).isEqualTo(3);
+        assertThat(lineas).hasSize(3);
+
+        SerieExportadaDTO primera = mapper.readValue(lineas.get(0), SerieExportadaDTO.class);
+        assertThat(primera.serie().titulo()).isEqualTo("Primera");
+        assertThat(primera.episodios())
+                .extracting(e -> e.temporada() + "x" + e.numeroEpisodio())
+                .containsExactly("1x1", "1x2", "1x3", "2x1", "2x2", "2x3");
+        assertThat(mapper.readValue(lineas.get(1), SerieExportadaDTO.class).episodios()).isEmpty();
+        assertThat(mapper.readValue(lineas.get(2), SerieExportadaDTO.class).episodios()).hasSize(2);
+    }
+}
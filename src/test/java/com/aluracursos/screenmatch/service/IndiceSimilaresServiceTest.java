@@ -0,0 +1,99 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.dto.SerieSimilarDTO;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent.TipoCambio;
+import com.aluracursos.screenmatch.model.CategoriaEnum;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Serie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DataJpaTest
+@Import(IndiceSimilaresService.class)
+class IndiceSimilaresServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private IndiceSimilaresService service;
+
+    private Serie breakingBad;
+    private Serie elCamino;
+    private Serie friends;
+
+    @BeforeEach
+    void prepararCatalogo() {
+        breakingBad = guardar("Breaking Bad", "9.5", "Drama, Crime", "Bryan Cranston, Aaron Paul, Anna Gunn");
+        elCamino = guardar("El Camino", "7.3", "Drama, Crime", "Aaron Paul, Jesse Plemons");
+        guardar("Malcolm", "8.2", "Comedy", "Bryan Cranston, Jane Kaczmarek");
+        friends = guardar("Friends", "8.9", "Comedy", "Jennifer Aniston, Courteney Cox");
+        em.flush();
+        service.construir(); // En la aplicación se construye con ApplicationReadyEvent
+    }
+
+    private Serie guardar(String titulo, String evaluacion, String generos, String actores) {
+        Serie serie = new Serie(new DatosSerie(titulo, 1, evaluacion, "poster", generos, actores, "Sinopsis"));
+        em.persist(serie);
+        return serie;
+    }
+
+    private List<String> titulosSimilares(Serie serie) {
+        return service.similares(serie.getId(), null).stream().map(SerieSimilarDTO::titulo).toList();
+    }
+
+    @Test
+    void ordenaPorActoresGenerosYEvaluacion() {
+        List<SerieSimilarDTO> similares = service.similares(breakingBad.getId(), null);
+
+        // Friends no comparte actores ni géneros con Breaking Bad
+        assertThat(similares).extracting(SerieSimilarDTO::titulo).containsExactly("El Camino", "Malcolm");
+
+        SerieSimilarDTO camino = similares.get(0);
+        assertThat(camino.actoresEnComun()).containsExactly("Aaron Paul");
+        assertThat(camino.generosEnComun()).containsExactlyInAnyOrder(CategoriaEnum.DRAMA, CategoriaEnum.CRIMEN);
+        // 0.5 × (2·1/5) + 0.3 × 1 + 0.2 × (1 - 2.2/10)
+        assertThat(camino.puntaje()).isCloseTo(0.656, within(1e-9));
+
+        assertThat(similares.get(1).actoresEnComun()).containsExactly("Bryan Cranston");
+        assertThat(similares.get(1).generosEnComun()).isEmpty();
+    }
+
+    @Test
+    void respetaElLimiteYLasSeriesInexistentes() {
+        assertThat(service.similares(breakingBad.getId(), 1)).hasSize(1);
+        assertThat(service.similares(-1L, null)).isNull();
+    }
+
+    @Test
+    void seActualizaConCadaSerieGuardada() {
+        // Friends incorpora a un actor de Breaking Bad
+        friends.setActores("Jennifer Aniston, Courteney Cox, Bryan Cranston");
+        service.alCambiarCatalogo(new CambioCatalogoEvent(friends, null, TipoCambio.ACTUALIZADO));
+        assertThat(titulosSimilares(breakingBad)).containsExactly("El Camino", "Malcolm", "Friends");
+
+        // Una serie nueva
+        Serie nueva = guardar("Better Call Saul", "9.0", "Drama, Crime", "Bob Odenkirk, Jonathan Banks");
+        service.alCambiarCatalogo(new CambioCatalogoEvent(nueva, null, TipoCambio.CREADO));
+        assertThat(titulosSimilares(breakingBad)).contains("Better Call Saul");
+
+        // Al eliminar una serie deja de aparecer y su posición se reutiliza
+        service.alCambiarCatalogo(new CambioCatalogoEvent(elCamino, null, TipoCambio.ELIMINADO));
+        assertThat(titulosSimilares(breakingBad)).doesNotContain("El Camino");
+        assertThat(service.similares(elCamino.getId(), null)).isNull();
+
+        Serie otra = guardar("Mr. Show", "8.5", "Comedy", "Bob Odenkirk, David Cross");
+        service.alCambiarCatalogo(new CambioCatalogoEvent(otra, null, TipoCambio.CREADO));
+        assertThat(titulosSimilares(nueva)).contains("Mr. Show").doesNotContain("El Camino");
+    }
+}
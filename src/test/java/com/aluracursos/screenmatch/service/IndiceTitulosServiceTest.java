@@ -0,0 +1,138 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.dto.ResultadoBusquedaDTO;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent;
+import com.aluracursos.screenmatch.model.CambioCatalogoEvent.TipoCambio;
+import com.aluracursos.screenmatch.model.DatosEpisodio;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(IndiceTitulosService.class)
+class IndiceTitulosServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private IndiceTitulosService service;
+
+    private Serie breakingBad;
+    private Serie dark;
+
+    @BeforeEach
+    void prepararCatalogo() {
+        breakingBad = guardar("Breaking Bad", "Pilot", "Cat's in the Bag...");
+        dark = guardar("Dark", "Secretos", "Mentiras");
+        guardar("Dark Matter", "Episode One");
+        guardar("Pokémon", "¡Pikachu, te elijo a ti!");
+        em.flush();
+        service.construir(); // En la aplicación se construye con ApplicationReadyEvent
+    }
+
+    private Serie guardar(String titulo, String... episodios) {
+        Serie serie = new Serie(new DatosSerie(titulo, 1, "8.0", "poster", "Drama", "Actor", "Sinopsis"));
+        List<Episodio> lista = new ArrayList<>();
+        for (int e = 0; e < episodios.length; e++) {
+            lista.add(new Episodio(1, new DatosEpisodio(episodios[e], e + 1, "8.0", "2020-01-01")));
+        }
+        serie.setEpisodioList(lista);
+        em.persist(serie);
+        return serie;
+    }
+
+    private List<String> titulos(String texto, String tipo) {
+        return service.buscar(texto, tipo, null).stream().map(ResultadoBusquedaDTO::titulo).toList();
+    }
+
+    @Test
+    void normalizaMayusculasAcentosYSignos() {
+        assertThat(IndiceTitulosService.trigramas("Pokémon")).isEqualTo(IndiceTitulosService.trigramas("POKEMON"));
+        assertThat(IndiceTitulosService.trigramas("¡Breaking-Bad!")).isEqualTo(IndiceTitulosService.trigramas("breaking bad"));
+        // Cada palabra se rellena como en pg_trgm: dos espacios al inicio y uno al final
+        assertThat(IndiceTitulosService.trigramas("Bad")).containsExactlyInAnyOrder("  b", " ba", "bad", "ad ");
+
+        assertThat(titulos("pokemon", null)).containsExactly("Pokémon");
+        assertThat(titulos("PIKACHU", null)).containsExactly("¡Pikachu, te elijo a ti!");
+    }
+
+    @Test
+    void toleraErroresYPrefiereLosTitulosMasParecidos() {
+        List<ResultadoBusquedaDTO> resultados = service.buscar("breking bad", null, null);
+
+        assertThat(resultados.get(0).titulo()).isEqualTo("Breaking Bad");
+        assertThat(resultados.get(0).puntaje()).isLessThan(1.0);
+
+        // Ambos títulos contienen "dark" completo: gana el más corto (mayor similitud de Jaccard)
+        assertThat(titulos("dark", "serie")).containsExactly("Dark", "Dark Matter");
+    }
+
+    @Test
+    void filtraPorTipoYRespetaElLimite() {
+        List<ResultadoBusquedaDTO> episodios = service.buscar("secretos", "episodio", null);
+
+        assertThat(episodios).extracting(ResultadoBusquedaDTO::titulo).containsExactly("Secretos");
+        assertThat(episodios.get(0).serie()).isEqualTo("Dark");
+        assertThat(episodios.get(0).serieId()).isEqualTo(dark.getId());
+        assertThat(episodios.get(0).temporada()).isEqualTo(1);
+        assertThat(titulos("secretos", "serie")).isEmpty();
+
+        assertThat(service.buscar("dark", null, 0)).hasSize(1);
+        assertThat(service.buscar("dark", null, 1_000)).hasSize(2);
+    }
+
+    @Test
+    void textosVaciosYBusquedasCortas() {
+        assertThat(service.buscar(null, null, null)).isEmpty();
+        assertThat(service.buscar("", null, null)).isEmpty();
+        assertThat(service.buscar("   ", null, null)).isEmpty();
+        assertThat(service.buscar("¡¿...?!", null, null)).isEmpty();
+        assertThat(service.buscar("zzz", null, null)).isEmpty();
+        // Una sola letra genera dos trigramas ("  a", " a "): primero la palabra que es esa letra y luego
+        // las que empiezan con ella (comparten "  a", la mitad de la búsqueda)
+        assertThat(titulos("a", null)).containsExactly("¡Pikachu, te elijo a ti!");
+        assertThat(titulos("d", "serie")).containsExactly("Dark", "Dark Matter");
+    }
+
+    @Test
+    void seActualizaConCadaCambioDelCatalogo() {
+        // Serie nueva
+        Serie severance = guardar("Severance", "Good News About Hell");
+        em.flush();
+        service.alCambiarCatalogo(new CambioCatalogoEvent(severance, null, TipoCambio.CREADO));
+        service.alCambiarCatalogo(new CambioCatalogoEvent(severance, severance.getEpisodioList().get(0), TipoCambio.CREADO));
+        assertThat(titulos("severance", null)).containsExactly("Severance");
+        assertThat(titulos("good news", "episodio")).containsExactly("Good News About Hell");
+
+        // Renombrar la serie: el título anterior deja de encontrarse y sus episodios muestran el nuevo
+        breakingBad.setTitulo("Breaking Bad (2008)");
+        service.alCambiarCatalogo(new CambioCatalogoEvent(breakingBad, null, TipoCambio.ACTUALIZADO));
+        assertThat(titulos("breaking bad 2008", "serie")).containsExactly("Breaking Bad (2008)");
+        assertThat(service.buscar("pilot", "episodio", null).get(0).serie()).isEqualTo("Breaking Bad (2008)");
+
+        // Cambiar el título de un episodio
+        Episodio secretos = dark.getEpisodioList().get(0);
+        secretos.setTitulo("Alpha and Omega");
+        service.alCambiarCatalogo(new CambioCatalogoEvent(dark, secretos, TipoCambio.ACTUALIZADO));
+        assertThat(titulos("secretos", null)).isEmpty();
+        assertThat(titulos("alpha omega", null)).containsExactly("Alpha and Omega");
+
+        // Eliminar la serie quita también sus episodios
+        service.alCambiarCatalogo(new CambioCatalogoEvent(dark, null, TipoCambio.ELIMINADO));
+        assertThat(titulos("dark", "serie")).containsExactly("Dark Matter");
+        assertThat(titulos("mentiras", null)).isEmpty();
+        assertThat(titulos("alpha omega", null)).isEmpty();
+    }
+}
@@ -0,0 +1,207 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.config.FabricaHilos;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import com.aluracursos.screenmatch.repository.TraduccionRepository;
+import com.aluracursos.screenmatch.service.IngestaCatalogoService.ResumenIngesta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// IngestaCatalogoService contra un OMDb falso (ConsumoAPI que responde desde memoria) y H2.
+// Sin transacción de prueba: cada lote se guarda en su propia transacción, como en la aplicación.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IngestaCatalogoServiceTest {
+
+    // OMDb falso: cada título tiene 2 temporadas de 3 episodios; "Inexistente" no se encuentra,
+    // "Larga" devuelve un título de 300 caracteres que no cabe en la columna series.titulo y "Rota"
+    // lanza un Error (no una RuntimeException), como un fallo interno de Jackson o del cliente HTTP.
+    static class OmdbFalso extends ConsumoAPI {
+        final Map<String, AtomicInteger> consultasPorTitulo = new ConcurrentHashMap<>();
+        final AtomicInteger seriesConsultadas = new AtomicInteger();
+
+        @Override
+        public byte[] obtenerBytes(String url) {
+            String titulo = URLDecoder.decode(url.replaceAll(".*[?&]t=([^&]*).*", "$1"), StandardCharsets.UTF_8);
+            String json;
+            if (url.contains("&season=")) {
+                String temporada = url.replaceAll(".*&season=(\\d+).*", "$1");
+                json = "{\"Season\":\"" + temporada + "\",\"Episodes\":[" +
+                        "{\"Title\":\"E1\",\"Episode\":\"1\",\"imdbRating\":\"8.0\",\"Released\":\"2020-01-01\"}," +
+                        "{\"Title\":\"E2\",\"Episode\":\"2\",\"imdbRating\":\"8.5\",\"Released\":\"2020-01-08\"}," +
+                        "{\"Title\":\"E3\",\"Episode\":\"3\",\"imdbRating\":\"9.0\",\"Released\":\"2020-01-15\"}]}";
+            } else {
+                seriesConsultadas.incrementAndGet();
+                consultasPorTitulo.computeIfAbsent(titulo, t -> new AtomicInteger()).incrementAndGet();
+                if (titulo.equals("Rota")) {
+                    throw new AssertionError("Error interno del cliente");
+                }
+                if (titulo.equals("Inexistente")) {
+                    json = "{\"Response\":\"False\",\"Error\":\"Series not found!\"}";
+                } else {
+                    String nombre = titulo.equals("Larga") ? "L".repeat(300) : titulo;
+                    json = "{\"Title\":\"" + nombre + "\",\"totalSeasons\":\"2\",\"imdbRating\":\"8.1\"," +
+                            "\"Poster\":\"poster\",\"Genre\":\"Drama\",\"Actors\":\"Actor\",\"Plot\":\"Sinopsis " + titulo + "\"}";
+                }
+            }
+            return json.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Autowired
+    private SerieRepository repository;
+
+    @Autowired
+    private TraduccionRepository traducciones;
+
+    @TempDir
+    Path directorio;
+
+    private final OmdbFalso omdb = new OmdbFalso();
+    private TraduccionService traduccion;
+
+    @AfterEach
+    void limpiar() {
+        if (traduccion != null) {
+            traduccion.cerrar();
+        }
+        repository.deleteAll();
+        traducciones.deleteAll();
+    }
+
+    private IngestaCatalogoService ingesta(ITraductor traductor, int concurrencia, int tamanioLote) {
+        traduccion = new TraduccionService(traducciones, traductor, 10, 1);
+        return new IngestaCatalogoService(repository, omdb, traduccion, FabricaHilos.plataforma(),
+                "http://omdb.local/", "clave", concurrencia, tamanioLote, 1_000);
+    }
+
+    private Path archivo(String... titulos) throws IOException {
+        return Files.write(directorio.resolve("titulos.txt"), List.of(titulos), StandardCharsets.UTF_8);
+    }
+
+    private Set<String> titulosGuardados() {
+        return Set.copyOf(repository.findAll().stream().map(Serie::getTitulo).toList());
+    }
+
+    @Test
+    void guardaPorLotesYSeReanudaDesdeElCheckpoint() throws Exception {
+        Path archivo = archivo("# comentario", "Dark", "Lost", "Inexistente", "Fargo", "Dark", "Ozark");
+        IngestaCatalogoService service = ingesta(null, 2, 2);
+
+        ResumenIngesta primera = service.ejecutar(archivo);
+
+        assertThat(primera.titulos()).isEqualTo(5); // Las líneas repetidas y los comentarios no cuentan
+        assertThat(primera.guardados()).isEqualTo(4);
+        assertThat(primera.fallidos()).isEqualTo(1);
+        assertThat(primera.episodios()).isEqualTo(4 * 6);
+        assertThat(titulosGuardados()).containsExactlyInAnyOrder("Dark", "Lost", "Fargo", "Ozark");
+        assertThat(Files.readAllLines(archivo.resolveSibling("titulos.txt.checkpoint")))
+                .containsExactlyInAnyOrder("Dark", "Lost", "Fargo", "Ozark");
+
+        // Segunda ejecución con dos títulos nuevos: solo se consultan esos y el que falló
+        Files.write(archivo, List.of("Severance", "Succession"), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        omdb.consultasPorTitulo.clear();
+
+        ResumenIngesta segunda = service.ejecutar(archivo);
+
+        assertThat(omdb.consultasPorTitulo.keySet()).containsExactlyInAnyOrder("Inexistente", "Severance", "Succession");
+        assertThat(segunda.guardados()).isEqualTo(2);
+        assertThat(segunda.fallidos()).isEqualTo(1);
+        assertThat(repository.count()).isEqualTo(6);
+    }
+
+    @Test
+    void unLoteFallidoSeGuardaSerieASerie() throws Exception {
+        Path archivo = archivo("Dark", "Larga", "Lost");
+
+        ResumenIngesta resumen = ingesta(null, 3, 3).ejecutar(archivo);
+
+        // El lote completo falla por "Larga"; las otras dos se guardan una por una
+        assertThat(resumen.guardados()).isEqualTo(2);
+        assertThat(resumen.fallidos()).isEqualTo(1);
+        assertThat(titulosGuardados()).containsExactlyInAnyOrder("Dark", "Lost");
+        assertThat(Files.readAllLines(archivo.resolveSibling("titulos.txt.checkpoint")))
+                .containsExactlyInAnyOrder("Dark", "Lost");
+    }
+
+    @Test
+    void unErrorEnUnaConsultaNoDetieneLaIngesta() throws Exception {
+        Path archivo = archivo("Dark", "Rota", "Lost");
+        IngestaCatalogoService service = ingesta(null, 2, 2);
+
+        ResumenIngesta resumen = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.ejecutar(archivo);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(30, TimeUnit.SECONDS); // Antes el consumidor esperaba para siempre el resultado de "Rota"
+
+        assertThat(resumen.guardados()).isEqualTo(2);
+        assertThat(resumen.fallidos()).isEqualTo(1);
+        assertThat(titulosGuardados()).containsExactlyInAnyOrder("Dark", "Lost");
+    }
+
+    @Test
+    void laColaAcotadaFrenaLasConsultasMientrasElEscritorEstaOcupado() throws Exception {
+        String[] titulos = new String[60];
+        for (int i = 0; i < titulos.length; i++) {
+            titulos[i] = "Serie " + i;
+        }
+        Path archivo = archivo(titulos);
+
+        // El traductor bloquea al escritor en el primer lote hasta que la prueba lo libera
+        CountDownLatch liberar = new CountDownLatch(1);
+        ITraductor bloqueado = textos -> {
+            try {
+                liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return textos;
+        };
+        int concurrencia = 2;
+        int tamanioLote = 2;
+        IngestaCatalogoService service = ingesta(bloqueado, concurrencia, tamanioLote);
+
+        CompletableFuture<ResumenIngesta> resultado = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.ejecutar(archivo);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(500);
+
+        // Lote en el escritor + cola (2 × lote) + un resultado esperando en cada hilo de consulta
+        assertThat(omdb.seriesConsultadas.get()).isLessThanOrEqualTo(tamanioLote + 2 * tamanioLote + concurrencia);
+
+        liberar.countDown();
+        ResumenIngesta resumen = resultado.get(30, TimeUnit.SECONDS);
+        assertThat(resumen.guardados()).isEqualTo(titulos.length);
+        assertThat(omdb.seriesConsultadas.get()).isEqualTo(titulos.length);
+    }
+}
@@ -0,0 +1,69 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.model.CategoriaEnum;
+import com.aluracursos.screenmatch.model.DatosEpisodio;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import com.aluracursos.screenmatch.repository.SerieRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Arranca con la configuración de caché de producción: sin prefijo de región y con
+// missing_cache_strategy=fail. Si una región que usa Hibernate no está declarada en application.conf
+// (o Caffeine no la resuelve), el SessionFactory no se crea, o la consulta cacheada falla, y esta prueba falla.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.region_prefix=",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RegionesCacheTest {
+
+    @Autowired
+    private SerieRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transaccion;
+
+    @AfterEach
+    void limpiar() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void todasLasRegionesEstanDeclaradasEnApplicationConf() {
+        Serie serie = new Serie(new DatosSerie("Regiones", 1, "8.0", "poster", "Drama", "Actor", "Sinopsis"));
+        List<Episodio> episodios = new ArrayList<>();
+        episodios.add(new Episodio(1, new DatosEpisodio("Piloto", 1, "8.0", "2020-01-01")));
+        serie.setEpisodioList(episodios);
+        Long id = repository.save(serie).getId();
+
+        // Lecturas que llenan cada región: entidad, colección y las dos consultas cacheadas
+        transaccion.executeWithoutResult(t -> repository.findById(id).orElseThrow().getEpisodioList().size());
+        repository.findTop5ByOrderByEvaluacionDesc();
+        repository.findByGenero(CategoriaEnum.DRAMA);
+
+        String[] regiones = entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getSecondLevelCacheRegionNames();
+        assertThat(regiones).contains(Serie.REGION_CACHE, Serie.REGION_CACHE_EPISODIOS, Serie.REGION_CACHE_CONSULTAS,
+                Episodio.REGION_CACHE);
+        assertThat(entityManagerFactory.getCache().contains(Serie.class, id)).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Episodio.class, episodios.get(0).getId())).isTrue();
+    }
+}
@@ -0,0 +1,159 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.dto.EpisodioDTO;
+import com.aluracursos.screenmatch.dto.LoteSeriesDTO;
+import com.aluracursos.screenmatch.dto.SerieDTO;
+import com.aluracursos.screenmatch.model.CategoriaEnum;
+import com.aluracursos.screenmatch.model.DatosEpisodio;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Verifica cuántas sentencias SQL emite cada método de SerieService.
+// Si alguien vuelve a poner la relación en EAGER o introduce un N+1, estos conteos fallan.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({SerieService.class, IndiceGenerosService.class})
+class SerieServiceConsultasTest {
+
+    private static final int SERIES = 6;
+    private static final int TEMPORADAS = 2;
+    private static final int EPISODIOS_POR_TEMPORADA = 5;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private SerieService service;
+
+    @Autowired
+    private IndiceGenerosService indiceGeneros;
+
+    private Statistics estadisticas;
+    private Long idSerie;
+
+    @BeforeEach
+    void prepararCatalogo() {
+        for (int s = 1; s <= SERIES; s++) {
+            Serie serie = new Serie(new DatosSerie("Serie " + s, TEMPORADAS, "8." + s, "poster" + s,
+                    "Drama, Crime", "Actor " + s, "Sinopsis " + s));
+            List<Episodio> episodios = new ArrayList<>();
+            for (int t = 1; t <= TEMPORADAS; t++) {
+                for (int e = 1; e <= EPISODIOS_POR_TEMPORADA; e++) {
+                    episodios.add(new Episodio(t, new DatosEpisodio("Episodio " + t + "x" + e, e,
+                            "7.5", "2020-0" + t + "-1" + e)));
+                }
+            }
+            serie.setEpisodioList(episodios);
+            em.persist(serie);
+            idSerie = serie.getId();
+        }
+        em.flush();
+        em.clear(); // Vaciamos el contexto de persistencia para que cada consulta llegue a la base de datos
+        indiceGeneros.construir(); // En la aplicación se construye con ApplicationReadyEvent
+
+        estadisticas = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Ejecuta la consulta con el contexto de persistencia limpio y devuelve cuántas sentencias se prepararon
+    private <T> long sentenciasEmitidas(Supplier<T> consulta) {
+        em.clear();
+        estadisticas.clear();
+        consulta.get();
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    @Test
+    void top5EmiteUnaSolaSentencia() {
+        assertThat(sentenciasEmitidas(service::obtenerTop5Series)).isEqualTo(1);
+    }
+
+    @Test
+    void lanzamientosEmiteUnaSolaSentencia() {
+        assertThat(sentenciasEmitidas(service::obtenerSeriesMasRecientes)).isEqualTo(1);
+    }
+
+    @Test
+    void listadoPaginadoEmiteUnaSolaSentencia() {
+        assertThat(sentenciasEmitidas(() -> service.obtenerTodasLasSeries(0L, 50))).isEqualTo(1);
+    }
+
+    @Test
+    void seriePorIdNoCargaEpisodios() {
+        assertThat(sentenciasEmitidas(() -> service.SeriePorId(idSerie))).isEqualTo(1);
+    }
+
+    @Test
+    void loteDeSeriesEmiteUnaSolaSentenciaYRespetaElOrden() {
+        List<Long> ids = List.of(idSerie, idSerie - 3, -1L, idSerie - 5, idSerie);
+        List<LoteSeriesDTO> lote = new ArrayList<>();
+        long sentencias = sentenciasEmitidas(() -> lote.add(service.seriesPorIds(ids)));
+
+        assertThat(sentencias).isEqualTo(1);
+        assertThat(lote.get(0).series()).extracting(SerieDTO::id).containsExactly(idSerie, idSerie - 3, idSerie - 5);
+        assertThat(lote.get(0).noEncontradas()).containsExactly(-1L);
+    }
+
+    @Test
+    void loteDemasiadoGrandeSeRechaza() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 101; id++) {
+            ids.add(id);
+        }
+        assertThatThrownBy(() -> service.seriesPorIds(ids)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void todosLosEpisodiosSeCarganEnUnaSolaSentencia() {
+        List<EpisodioDTO> episodios = new ArrayList<>();
+        long sentencias = sentenciasEmitidas(() -> episodios.addAll(service.obtenerTodosLosEpisodios(idSerie)));
+
+        assertThat(sentencias).isEqualTo(1);
+        assertThat(episodios).hasSize(TEMPORADAS * EPISODIOS_POR_TEMPORADA);
+    }
+
+    @Test
+    void episodiosPorTemporadaEmiteUnaSolaSentencia() {
+        List<EpisodioDTO> episodios = new ArrayList<>();
+        long sentencias = sentenciasEmitidas(() -> episodios.addAll(service.obtenerEpisodiosPorTemporada(idSerie, 1)));
+
+        assertThat(sentencias).isEqualTo(1);
+        assertThat(episodios).hasSize(EPISODIOS_POR_TEMPORADA);
+    }
+
+    @Test
+    void seriesPorGeneroEmiteUnaSolaSentencia() {
+        List<SerieDTO> series = new ArrayList<>();
+        long sentencias = sentenciasEmitidas(() -> series.addAll(service.obtenerSeriesPorGeneros("drama", true)));
+
+        assertThat(sentencias).isEqualTo(1);
+        assertThat(series).hasSize(SERIES);
+        assertThat(series.get(0).generos()).containsExactlyInAnyOrder(CategoriaEnum.DRAMA, CategoriaEnum.CRIMEN);
+    }
+
+    @Test
+    void variosGenerosConTodosOAlguno() {
+        List<SerieDTO> alguno = new ArrayList<>();
+        long sentencias = sentenciasEmitidas(() -> alguno.addAll(service.obtenerSeriesPorGeneros("comedia,crimen", false)));
+
+        assertThat(sentencias).isEqualTo(1);
+        assertThat(alguno).hasSize(SERIES);
+        assertThat(service.obtenerSeriesPorGeneros("crimen,drama", true)).hasSize(SERIES);
+        assertThat(service.obtenerSeriesPorGeneros("comedia,crimen", true)).isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.model.Traduccion;
+import com.aluracursos.screenmatch.repository.TraduccionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+// TraduccionService contra un traductor falso local y la tabla "traducciones" en H2.
+// Sin transacción de prueba: el servicio guarda desde sus propios hilos.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TraduccionServiceTest {
+
+    // Traductor falso: antepone "ES:" y cuenta cuántas llamadas (lotes) recibió
+    static class TraductorFalso implements ITraductor {
+        final AtomicInteger llamadas = new AtomicInteger();
+        final List<Integer> tamanios = new ArrayList<>();
+
+        @Override
+        public synchronized List<String> traducir(List<String> textos) {
+            llamadas.incrementAndGet();
+            tamanios.add(textos.size());
+            return textos.stream().map(t -> "ES:" + t).toList();
+        }
+    }
+
+    @Autowired
+    private TraduccionRepository repository;
+
+    private TraductorFalso traductor;
+    private TraduccionService service;
+
+    @BeforeEach
+    void preparar() {
+        repository.deleteAll();
+        traductor = new TraductorFalso();
+        service = new TraduccionService(repository, traductor, 3, 2);
+    }
+
+    @AfterEach
+    void cerrar() {
+        service.cerrar();
+    }
+
+    @Test
+    void agrupaLosTextosEnLotesYConservaElOrden() {
+        List<String> textos = List.of("uno", "dos", "tres", "cuatro", "cinco", "seis", "siete");
+
+        List<String> traducidas = service.traducirLote(textos);
+
+        assertThat(traducidas).containsExactly("ES:uno", "ES:dos", "ES:tres", "ES:cuatro", "ES:cinco", "ES:seis", "ES:siete");
+        assertThat(traductor.llamadas).hasValue(3);
+        assertThat(traductor.tamanios).containsExactlyInAnyOrder(3, 3, 1);
+    }
+
+    @Test
+    void losTextosRepetidosSeTraducenUnaSolaVez() {
+        List<String> traducidas = service.traducirLote(Arrays.asList("hola", "hola", null, "adiós"));
+
+        assertThat(traducidas).containsExactly("ES:hola", "ES:hola", null, "ES:adiós");
+        assertThat(traductor.tamanios).containsExactly(2);
+    }
+
+    @Test
+    void laCacheSobreviveAUnaNuevaInstanciaDelServicio() {
+        service.traducirLote(List.of("sinopsis larga", "otra sinopsis"));
+
+        TraductorFalso otroTraductor = new TraductorFalso();
+        TraduccionService otroServicio = new TraduccionService(repository, otroTraductor, 3, 2);
+        try {
+            assertThat(otroServicio.traducirAsync("sinopsis larga").join()).isEqualTo("ES:sinopsis larga");
+            assertThat(otroTraductor.llamadas).hasValue(0);
+        } finally {
+            otroServicio.cerrar();
+        }
+    }
+
+    @Test
+    void unaLlaveDuplicadaNoDescartaElRestoDelLote() {
+        // Otra petición guardó "dos" entre la consulta a la caché y el INSERT de esta
+        TraduccionRepository conCompetencia = mock(TraduccionRepository.class, delegatesTo(repository));
+        doThrow(new DataIntegrityViolationException("llave duplicada"))
+                .when(conCompetencia).save(argThat((Traduccion t) -> t != null && t.getHash().equals(TraduccionService.hash("dos"))));
+        TraduccionService competidor = new TraduccionService(conCompetencia, traductor, 3, 1);
+        try {
+            assertThat(competidor.traducirLote(List.of("uno", "dos", "tres"))).containsExactly("ES:uno", "ES:dos", "ES:tres");
+        } finally {
+            competidor.cerrar();
+        }
+        assertThat(repository.existsById(TraduccionService.hash("uno"))).isTrue();
+        assertThat(repository.existsById(TraduccionService.hash("tres"))).isTrue();
+    }
+}
@@ -0,0 +1,92 @@
+package com.aluracursos.screenmatch.service;
+
+import com.aluracursos.screenmatch.model.DatosEpisodio;
+import com.aluracursos.screenmatch.model.DatosSerie;
+import com.aluracursos.screenmatch.model.Episodio;
+import com.aluracursos.screenmatch.model.Serie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Los ETag salen de los datos: cambian también cuando la escritura no pasa por esta instancia
+@DataJpaTest
+@Import(VersionCatalogoService.class)
+class VersionCatalogoServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private VersionCatalogoService versiones;
+
+    private Serie dark;
+
+    @BeforeEach
+    void prepararCatalogo() {
+        dark = guardar("Dark");
+        guardar("Lost");
+        em.flush();
+    }
+
+    private Serie guardar(String titulo) {
+        Serie serie = new Serie(new DatosSerie(titulo, 1, "8.0", "poster", "Drama", "Actor", "Sinopsis"));
+        List<Episodio> episodios = new ArrayList<>();
+        episodios.add(new Episodio(1, new DatosEpisodio("Piloto", 1, "7.5", "2020-01-01")));
+        serie.setEpisodioList(episodios);
+        em.persist(serie);
+        return serie;
+    }
+
+    // Lo que hace otro proceso (la ingesta, otra instancia): un UPDATE que incrementa la versión
+    private void actualizarDesdeOtroProceso(String sql, Long id) {
+        em.getEntityManager().createNativeQuery(sql).setParameter(1, id).executeUpdate();
+    }
+
+    @Test
+    void crearActualizarOEliminarUnaSerieCambiaElEtagDelCatalogo() {
+        String inicial = versiones.etagSeries();
+        assertThat(versiones.etagSeries()).isEqualTo(inicial);
+
+        actualizarDesdeOtroProceso("UPDATE series SET titulo = 'Dark (2017)', version = version + 1 WHERE id = ?1", dark.getId());
+        String actualizado = versiones.etagSeries();
+        assertThat(actualizado).isNotEqualTo(inicial);
+
+        Serie fargo = guardar("Fargo");
+        em.flush();
+        String creado = versiones.etagSeries();
+        assertThat(creado).isNotEqualTo(actualizado);
+
+        em.remove(fargo);
+        em.flush();
+        assertThat(versiones.etagSeries()).isNotEqualTo(creado);
+    }
+
+    @Test
+    void elEtagDeUnaSerieCambiaConSusEpisodios() {
+        String inicial = versiones.etagSerie(dark.getId()).orElseThrow();
+
+        Long episodio = dark.getEpisodioList().get(0).getId();
+        actualizarDesdeOtroProceso("UPDATE episodios SET titulo = 'Secretos', version = version + 1 WHERE id = ?1", episodio);
+        String actualizado = versiones.etagSerie(dark.getId()).orElseThrow();
+        assertThat(actualizado).isNotEqualTo(inicial);
+
+        Episodio nuevo = new Episodio(1, new DatosEpisodio("Mentiras", 2, "8.0", "2020-01-08"));
+        nuevo.setSerie(dark);
+        em.persist(nuevo);
+        em.flush();
+        assertThat(versiones.etagSerie(dark.getId())).get().isNotEqualTo(actualizado);
+    }
+
+    @Test
+    void unaSerieInexistenteNoTieneEtag() {
+        assertThat(versiones.etagSerie(-1L)).isEmpty();
+    }
+}